@@ -0,0 +1,10 @@
+package com.mega.haksamate.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// @Scheduled 백그라운드 작업 활성화 (이미지 GC 등)
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
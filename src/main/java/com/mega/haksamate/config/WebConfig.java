@@ -2,11 +2,8 @@ package com.mega.haksamate.config;
 
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
-import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
-import java.nio.file.Paths;
-
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
@@ -18,11 +15,5 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedMethods("*");                     // 모든 메서드 허용
     }
 
-    // 정적 리소스(파일) 경로 설정
-    @Override
-    public void addResourceHandlers(ResourceHandlerRegistry registry) {
-        String uploadPath = Paths.get(System.getProperty("user.dir"), "uploads").toUri().toString();
-        registry.addResourceHandler("/uploads/**")
-                .addResourceLocations(uploadPath);  // file:/... 형식으로 자동 변환됨
-    }
+    // 정적 리소스(/uploads/**)는 ImageController 에서 캐시 헤더와 함께 서빙
 }
\ No newline at end of file
@@ -16,7 +16,7 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
-        registry.enableSimpleBroker("/topic");        // 구독 주소
+        registry.enableSimpleBroker("/topic", "/queue"); // 구독 주소 (/queue: 개인 응답, /user/queue/... 로 구독)
         registry.setApplicationDestinationPrefixes("/app"); // 메시지 발송 주소
     }
 }
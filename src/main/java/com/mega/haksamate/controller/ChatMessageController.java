@@ -1,14 +1,15 @@
 package com.mega.haksamate.controller;
 
+import com.mega.haksamate.dto.ChatHistoryResponseDTO;
 import com.mega.haksamate.dto.MessageResponseDTO;
-import com.mega.haksamate.entity.ChatMessage;
 import com.mega.haksamate.service.ChatMessageService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/chat-messages")
@@ -17,19 +18,30 @@ public class ChatMessageController {
 
     private final ChatMessageService chatMessageService;
 
+    // 전체 메시지 (기존 클라이언트 호환용, 새 화면은 /history 사용)
     @PostMapping("/{chatRoomId}")
     public ResponseEntity<List<MessageResponseDTO>> getMessagesByChatRoom(@PathVariable Long chatRoomId) {
-        List<ChatMessage> messages = chatMessageService.getMessagesByChatRoom(chatRoomId);
-        List<MessageResponseDTO> dtos = messages.stream().map(msg ->
-                MessageResponseDTO.builder()
-                        .messageId(msg.getMessageId())
-                        .chatRoomId(msg.getChatRoom().getChatRoomId())
-                        .senderId(msg.getSender().getId())
-                        .content(msg.getContent())
-                        .sentAt(msg.getSentAt())
-                        .build()
-        ).collect(Collectors.toList());
+        return ResponseEntity.ok(chatMessageService.getMessagesByChatRoom(chatRoomId));
+    }
+
+    // 📜 이전 메시지 페이지 (첫 요청은 커서 없이, 이후 응답의 cursorSentAt/cursorId 를 그대로 전달)
+    @GetMapping("/{chatRoomId}/history")
+    public ResponseEntity<ChatHistoryResponseDTO> getHistory(
+            @PathVariable Long chatRoomId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime cursorSentAt,
+            @RequestParam(required = false) Long cursorId,
+            @RequestParam(required = false) Integer size
+    ) {
+        return ResponseEntity.ok(chatMessageService.getHistory(chatRoomId, cursorSentAt, cursorId, size));
+    }
 
-        return ResponseEntity.ok(dtos);
+    // 🔄 재연결 시 마지막으로 받은 메시지 이후만 동기화
+    @GetMapping("/{chatRoomId}/sync")
+    public ResponseEntity<ChatHistoryResponseDTO> sync(
+            @PathVariable Long chatRoomId,
+            @RequestParam(defaultValue = "0") long afterId,
+            @RequestParam(required = false) Integer size
+    ) {
+        return ResponseEntity.ok(chatMessageService.getMessagesAfter(chatRoomId, afterId, size));
     }
 }
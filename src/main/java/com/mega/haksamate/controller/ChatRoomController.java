@@ -1,5 +1,6 @@
 package com.mega.haksamate.controller;
 
+import com.mega.haksamate.dto.ChatReadDTO;
 import com.mega.haksamate.dto.ChatRoomRequestDTO;
 import com.mega.haksamate.dto.ChatRoomResponseDTO;
 import com.mega.haksamate.dto.ChatRoomWithLastMessageDTO;
@@ -51,6 +52,19 @@ public class ChatRoomController {
     }
 
 
+    // 읽음 처리: lastReadMessageId 까지 (없으면 현재 마지막 메시지까지)
+    @PostMapping("/{chatRoomId}/read")
+    public ResponseEntity<ChatReadDTO> markRead(@PathVariable Long chatRoomId,
+                                                @RequestParam UUID userId,
+                                                @RequestParam(required = false) Long lastReadMessageId) {
+        return ResponseEntity.ok(chatRoomService.markReadUpTo(chatRoomId, userId, lastReadMessageId));
+    }
+
+    @GetMapping("/{chatRoomId}/read")
+    public ResponseEntity<List<ChatReadDTO>> getReadWatermarks(@PathVariable Long chatRoomId) {
+        return ResponseEntity.ok(chatRoomService.getReadWatermarks(chatRoomId));
+    }
+
     @DeleteMapping("/{chatRoomId}")
     public ResponseEntity<Void> deleteChatRoom(@PathVariable Long chatRoomId) {
         chatRoomService.deleteChatRoom(chatRoomId);
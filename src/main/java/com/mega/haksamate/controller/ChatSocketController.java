@@ -1,10 +1,14 @@
 package com.mega.haksamate.controller;
 
+import com.mega.haksamate.dto.ChatReadDTO;
 import com.mega.haksamate.dto.MessageDTO;
 import com.mega.haksamate.service.ChatMessageService;
+import com.mega.haksamate.service.ChatRoomService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.messaging.simp.annotation.SendToUser;
 import org.springframework.stereotype.Controller;
 
 @Controller
@@ -12,10 +16,20 @@ import org.springframework.stereotype.Controller;
 public class ChatSocketController {
 
     private final ChatMessageService chatMessageService;
+    private final ChatRoomService chatRoomService;
 
+    // 보낸 사람에게만 저장 결과(ack)를 /user/queue/chat.ack 로 돌려줌 (재전송이면 처음 저장된 메시지 ID)
+    // 커밋 전에 반환한 경우의 저장 실패는 같은 세션의 /user/queue/chat.error 로 전달됨
     @MessageMapping("/chat.send")
-    public void sendMessage(@Payload MessageDTO messageDTO) {
+    @SendToUser(value = "/queue/chat.ack", broadcast = false)
+    public MessageDTO sendMessage(@Payload MessageDTO messageDTO, @Header("simpSessionId") String sessionId) {
         System.out.println("📨 받은 메시지 DTO: " + messageDTO);
-        chatMessageService.sendMessage(messageDTO);
+        return chatMessageService.sendMessage(messageDTO, sessionId);
+    }
+
+    // 읽음 위치 전진 (읽음 확인은 /topic/chat/{채팅방}/read 로 전송됨)
+    @MessageMapping("/chat.read")
+    public void markRead(@Payload ChatReadDTO readDTO) {
+        chatRoomService.markReadUpTo(readDTO.getChatRoomId(), readDTO.getUserId(), readDTO.getLastReadMessageId());
     }
 }
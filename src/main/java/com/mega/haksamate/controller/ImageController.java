@@ -0,0 +1,24 @@
+package com.mega.haksamate.controller;
+
+import com.mega.haksamate.service.ImageDeliveryService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+// 🖼️ 업로드 이미지 서빙 (ETag / immutable 캐시 / Range)
+@RestController
+@RequiredArgsConstructor
+public class ImageController {
+
+    private final ImageDeliveryService imageDeliveryService;
+
+    @RequestMapping(value = "/uploads/**", method = {RequestMethod.GET, RequestMethod.HEAD})
+    public void serveImage(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        imageDeliveryService.serve(request, response);
+    }
+}
@@ -1,20 +1,23 @@
 package com.mega.haksamate.controller;
 
+import com.mega.haksamate.dto.ItemBatchDeleteRequestDTO;
+import com.mega.haksamate.dto.ItemBrowseResponseDTO;
+import com.mega.haksamate.dto.ItemChangesResponseDTO;
+import com.mega.haksamate.dto.ItemFeedResponseDTO;
 import com.mega.haksamate.dto.ItemRegisterRequestDTO;
 import com.mega.haksamate.dto.ItemResponseDTO;
 import com.mega.haksamate.dto.ItemSuggestionDTO;
-import com.mega.haksamate.entity.ChatRoom;
-import com.mega.haksamate.entity.Item;
-import com.mega.haksamate.repository.ChatRoomRepository;
-import com.mega.haksamate.repository.ItemRepository;
+import com.mega.haksamate.dto.ItemSummaryDTO;
+import com.mega.haksamate.exception.ItemStatusConflictException;
+import com.mega.haksamate.service.ItemChangeFeedService;
 import com.mega.haksamate.service.ItemService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -27,8 +30,7 @@ import java.util.UUID;
 public class ItemController {
 
     private final ItemService itemService;
-    private final ItemRepository itemRepository;
-    private final ChatRoomRepository chatRoomRepository;
+    private final ItemChangeFeedService itemChangeFeedService;
 
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<Map<String, Object>> registerItem(
@@ -47,13 +49,49 @@ public class ItemController {
         return ResponseEntity.ok(itemService.getItemResponseById(id));
     }
 
+    // ⚠️ 전체 테이블을 한 번에 내려주므로 목록 화면은 /feed 사용 권장
     @GetMapping
-    public ResponseEntity<List<ItemResponseDTO>> getAllItems() {
+    public ResponseEntity<List<ItemSummaryDTO>> getAllItems() {
         return ResponseEntity.ok(itemService.getAllItems());
     }
 
+    // ✅ 커서 기반 피드 (regdate, itemid 내림차순)
+    @GetMapping("/feed")
+    public ResponseEntity<ItemFeedResponseDTO> getItemFeed(
+            @RequestParam(required = false) Long cursorRegdate,
+            @RequestParam(required = false) Long cursorId,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String category
+    ) {
+        return ResponseEntity.ok(itemService.getItemFeed(cursorRegdate, cursorId, size, status, category));
+    }
+
+    // 🧭 필터 + 정렬 + 패싯 카운트 탐색 (sort: newest | price_asc | price_desc)
+    @GetMapping("/browse")
+    public ResponseEntity<ItemBrowseResponseDTO> browseItems(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Integer minPrice,
+            @RequestParam(required = false) Integer maxPrice,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size
+    ) {
+        return ResponseEntity.ok(itemService.browseItems(category, status, minPrice, maxPrice, sort, page, size));
+    }
+
+    // 🔄 실시간 변경 피드 재개용 (STOMP /topic/items 재연결 시 since 이후 변경만 조회)
+    @GetMapping("/changes")
+    public ResponseEntity<ItemChangesResponseDTO> getChanges(
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(required = false) String epoch
+    ) {
+        return ResponseEntity.ok(itemChangeFeedService.changesSince(since, epoch));
+    }
+
     @GetMapping("/mine")
-    public ResponseEntity<List<ItemResponseDTO>> getMyItems(@RequestParam UUID userId) {
+    public ResponseEntity<List<ItemSummaryDTO>> getMyItems(@RequestParam UUID userId) {
         return ResponseEntity.ok(itemService.getItemsBySellerId(userId));
     }
 
@@ -78,6 +116,19 @@ public class ItemController {
         return ResponseEntity.ok(response);
     }
 
+    // 🗑️ 판매자 게시글 일괄 삭제 (본인 게시글만 삭제됨)
+    @PostMapping("/batch-delete")
+    public ResponseEntity<Map<String, Object>> deleteItems(@RequestBody ItemBatchDeleteRequestDTO request) {
+        if (request.getSellerId() == null || request.getItemIds() == null || request.getItemIds().isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<Long> deleted = itemService.deleteItemsOfSeller(request.getSellerId(), request.getItemIds());
+        Map<String, Object> response = new HashMap<>();
+        response.put("deletedItemIds", deleted);
+        response.put("message", deleted.size() + "개의 게시글이 삭제되었습니다.");
+        return ResponseEntity.ok(response);
+    }
+
     @PatchMapping("/{id}/status")
     public ResponseEntity<Map<String, String>> updateItemStatus(
             @PathVariable Long id,
@@ -98,25 +149,14 @@ public class ItemController {
     ) {
         System.out.println("📩 거래 완료 요청: itemId=" + itemId + ", chatRoomId=" + chatRoomId);
 
-        Item item = itemRepository.findById(itemId)
-                .orElseThrow(() -> new IllegalArgumentException("해당 상품이 없습니다."));
-
-        ChatRoom chatRoom = chatRoomRepository.findById(chatRoomId)
-                .orElseThrow(() -> new IllegalArgumentException("해당 채팅방이 없습니다."));
-
-        // 구매자 등록 및 상태 변경
-        item.setBuyer(chatRoom.getChatUsr1Id());
-        item.setStatus(Item.Status.거래완료);
-        item.setCompletedDate(LocalDateTime.now());
-
-        itemRepository.save(item);
+        itemService.completeItemDeal(itemId, chatRoomId);
 
         return ResponseEntity.ok("거래 완료 처리되었습니다.");
     }
 
     // ✨ 구매자 거래완료 목록
     @GetMapping("/completed")
-    public ResponseEntity<List<ItemResponseDTO>> getCompletedItemsByBuyer(@RequestParam UUID userId) {
+    public ResponseEntity<List<ItemSummaryDTO>> getCompletedItemsByBuyer(@RequestParam UUID userId) {
         return ResponseEntity.ok(itemService.getCompletedItemsByBuyer(userId));
     }
 
@@ -126,10 +166,24 @@ public class ItemController {
     }
     // ✅ 판매자 ID로 게시글 조회
     @GetMapping("/by-seller")
-    public ResponseEntity<List<ItemResponseDTO>> getItemsBySeller(@RequestParam UUID sellerId) {
+    public ResponseEntity<List<ItemSummaryDTO>> getItemsBySeller(@RequestParam UUID sellerId) {
         return ResponseEntity.ok(itemService.getItemsBySeller(sellerId));
     }
 
+    // ⚠️ 허용되지 않는 상태 전이 → 409 (현재 상태를 함께 반환)
+    @ExceptionHandler(ItemStatusConflictException.class)
+    public ResponseEntity<Map<String, String>> handleStatusConflict(ItemStatusConflictException e) {
+        Map<String, String> response = new HashMap<>();
+        response.put("message", e.getMessage());
+        response.put("currentStatus", e.getCurrentStatus().name());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
 
-
+    // ⚠️ 잘못된 요청 값 (예: 없는 상태 이름) → 400
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleBadRequest(IllegalArgumentException e) {
+        Map<String, String> response = new HashMap<>();
+        response.put("message", e.getMessage());
+        return ResponseEntity.badRequest().body(response);
+    }
 }
@@ -1,12 +1,18 @@
 package com.mega.haksamate.controller;
 
 import com.mega.haksamate.dto.FavoriteItemDTO;
+import com.mega.haksamate.dto.ItemLikeStateDTO;
+import com.mega.haksamate.dto.LikeBatchRequestDTO;
 import com.mega.haksamate.service.ItemLikeService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @RestController
@@ -14,20 +20,29 @@ import java.util.UUID;
 @RequestMapping("/api/likes")
 public class ItemLikeController {
 
+    private static final int BATCH_MAX_SIZE = 200;
+
     private final ItemLikeService itemLikeService;
 
-    // 좋아요 추가 (응답은 Void, 프론트는 likeCount 직접 요청해서 반영)
+    // 좋아요 추가 (changed: 실제로 상태가 바뀌었는지, count: 반영된 좋아요 수)
     @PostMapping("/{itemId}")
-    public ResponseEntity<Void> like(@PathVariable Long itemId, @RequestParam UUID userId) {
-        itemLikeService.likeItem(itemId, userId);
-        return ResponseEntity.ok().build();
+    public ResponseEntity<Map<String, Object>> like(@PathVariable Long itemId, @RequestParam UUID userId) {
+        boolean changed = itemLikeService.likeItem(itemId, userId);
+        return ResponseEntity.ok(likeResponse(itemId, changed));
     }
 
-    // 좋아요 취소 (응답은 Void)
+    // 좋아요 취소 (중복 요청은 changed=false)
     @DeleteMapping("/{itemId}")
-    public ResponseEntity<Void> unlike(@PathVariable Long itemId, @RequestParam UUID userId) {
-        itemLikeService.unlikeItem(itemId, userId);
-        return ResponseEntity.ok().build();
+    public ResponseEntity<Map<String, Object>> unlike(@PathVariable Long itemId, @RequestParam UUID userId) {
+        boolean changed = itemLikeService.unlikeItem(itemId, userId);
+        return ResponseEntity.ok(likeResponse(itemId, changed));
+    }
+
+    private Map<String, Object> likeResponse(Long itemId, boolean changed) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("changed", changed);
+        response.put("count", itemLikeService.countLikes(itemId));
+        return response;
     }
 
     // 좋아요 개수 조회
@@ -42,9 +57,24 @@ public class ItemLikeController {
         return ResponseEntity.ok(itemLikeService.isLiked(itemId, userId));
     }
 
+    // 목록 화면용: 여러 게시글의 좋아요 수 + 좋아요 여부 한 번에 조회
+    @PostMapping("/batch")
+    public ResponseEntity<List<ItemLikeStateDTO>> batch(@RequestBody LikeBatchRequestDTO request) {
+        if (request.getItemIds() == null || request.getItemIds().size() > BATCH_MAX_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(itemLikeService.getLikeStates(request.getUserId(), request.getItemIds()));
+    }
+
     // 특정 유저의 좋아요 목록
+    // (size 를 주면 키셋 페이지네이션: 마지막 항목의 likedAt, likeId 를 cursorLikedAt, cursorId 로 전달)
     @GetMapping("/my")
-    public ResponseEntity<List<FavoriteItemDTO>> myFavorites(@RequestParam UUID userId) {
-        return ResponseEntity.ok(itemLikeService.getUserFavorites(userId));
+    public ResponseEntity<List<FavoriteItemDTO>> myFavorites(
+            @RequestParam UUID userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime cursorLikedAt,
+            @RequestParam(required = false) Long cursorId,
+            @RequestParam(required = false) Integer size
+    ) {
+        return ResponseEntity.ok(itemLikeService.getUserFavorites(userId, cursorLikedAt, cursorId, size));
     }
 }
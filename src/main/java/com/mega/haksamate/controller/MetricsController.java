@@ -0,0 +1,95 @@
+package com.mega.haksamate.controller;
+
+import com.mega.haksamate.service.ChatArchiveService;
+import com.mega.haksamate.service.ChatMembershipCache;
+import com.mega.haksamate.service.ChatMessageBatcher;
+import com.mega.haksamate.service.ChatSendDeduplicator;
+import com.mega.haksamate.service.ImageDeliveryService;
+import com.mega.haksamate.service.ImageGarbageCollector;
+import com.mega.haksamate.service.ImageStorageService;
+import com.mega.haksamate.service.ImageVariantService;
+import com.mega.haksamate.service.ItemDetailCache;
+import com.mega.haksamate.service.ItemLikeCounter;
+import com.mega.haksamate.service.ProfileSummaryCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+// 📊 내부 캐시/파이프라인 지표 조회
+@RestController
+@RequestMapping("/api/metrics")
+@RequiredArgsConstructor
+public class MetricsController {
+
+    private final ItemDetailCache itemDetailCache;
+    private final ImageVariantService imageVariantService;
+    private final ImageStorageService imageStorageService;
+    private final ImageDeliveryService imageDeliveryService;
+    private final ImageGarbageCollector imageGarbageCollector;
+    private final ItemLikeCounter itemLikeCounter;
+    private final ChatMessageBatcher chatMessageBatcher;
+    private final ChatSendDeduplicator chatSendDeduplicator;
+    private final ChatMembershipCache chatMembershipCache;
+    private final ProfileSummaryCache profileSummaryCache;
+    private final ChatArchiveService chatArchiveService;
+
+    @GetMapping("/item-cache")
+    public ResponseEntity<Map<String, Object>> itemCacheStats() {
+        return ResponseEntity.ok(itemDetailCache.stats());
+    }
+
+    @GetMapping("/image-variants")
+    public ResponseEntity<Map<String, Object>> imageVariantStats() {
+        return ResponseEntity.ok(imageVariantService.stats());
+    }
+
+    @GetMapping("/image-storage")
+    public ResponseEntity<Map<String, Object>> imageStorageStats() {
+        return ResponseEntity.ok(Map.of(
+                "storedFiles", imageStorageService.getStoredFiles(),
+                "deduplicatedFiles", imageStorageService.getDeduplicatedFiles()
+        ));
+    }
+
+    @GetMapping("/image-delivery")
+    public ResponseEntity<Map<String, Object>> imageDeliveryStats() {
+        return ResponseEntity.ok(imageDeliveryService.stats());
+    }
+
+    @GetMapping("/image-gc")
+    public ResponseEntity<Map<String, Object>> imageGcStats() {
+        return ResponseEntity.ok(imageGarbageCollector.stats());
+    }
+
+    @GetMapping("/item-likes")
+    public ResponseEntity<Map<String, Object>> itemLikeStats() {
+        return ResponseEntity.ok(itemLikeCounter.stats());
+    }
+
+    @GetMapping("/chat-batch")
+    public ResponseEntity<Map<String, Object>> chatBatchStats() {
+        return ResponseEntity.ok(chatMessageBatcher.stats());
+    }
+
+    @GetMapping("/chat-dedup")
+    public ResponseEntity<Map<String, Object>> chatDedupStats() {
+        return ResponseEntity.ok(chatSendDeduplicator.stats());
+    }
+
+    @GetMapping("/chat-caches")
+    public ResponseEntity<Map<String, Object>> chatCacheStats() {
+        return ResponseEntity.ok(Map.of(
+                "membership", chatMembershipCache.stats(),
+                "profiles", profileSummaryCache.stats()
+        ));
+    }
+
+    @GetMapping("/chat-archive")
+    public ResponseEntity<Map<String, Object>> chatArchiveStats() {
+        return ResponseEntity.ok(chatArchiveService.stats());
+    }
+}
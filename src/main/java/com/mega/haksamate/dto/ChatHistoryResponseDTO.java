@@ -0,0 +1,21 @@
+package com.mega.haksamate.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChatHistoryResponseDTO {
+    private List<MessageResponseDTO> messages; // 항상 오래된 순
+    private boolean hasMore;                   // history: 더 이전 메시지 있음 / sync: 더 이후 메시지 있음
+
+    // 다음 요청용 커서 (history: 가장 오래된 메시지, sync: 가장 최근 메시지)
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss.SSSSSS")
+    private LocalDateTime cursorSentAt;
+    private Long cursorId;
+}
@@ -0,0 +1,17 @@
+package com.mega.haksamate.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+// 읽음 처리 요청(STOMP /app/chat.read) 겸 읽음 확인 브로드캐스트
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ChatReadDTO {
+    private Long chatRoomId;
+    private UUID userId;
+    private Long lastReadMessageId; // 요청 시 null 이면 현재 마지막 메시지까지
+}
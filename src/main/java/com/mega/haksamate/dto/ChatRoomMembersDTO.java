@@ -0,0 +1,28 @@
+package com.mega.haksamate.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+// 채팅방 참여자 (ChatMembershipCache 값, 불변)
+@Getter
+@AllArgsConstructor
+public class ChatRoomMembersDTO {
+    private final Long chatRoomId;
+    private final UUID user1Id;
+    private final String user1Name;
+    private final UUID user2Id;
+    private final String user2Name;
+
+    public boolean isMember(UUID userId) {
+        return userId != null && (userId.equals(user1Id) || userId.equals(user2Id));
+    }
+
+    public String nameOf(UUID userId) {
+        if (userId == null) return null;
+        if (userId.equals(user1Id)) return user1Name;
+        if (userId.equals(user2Id)) return user2Name;
+        return null;
+    }
+}
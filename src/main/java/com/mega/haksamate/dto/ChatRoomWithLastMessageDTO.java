@@ -1,5 +1,7 @@
 package com.mega.haksamate.dto;
 
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.UUID;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -19,4 +21,12 @@ public class ChatRoomWithLastMessageDTO {
     private String lastMessage;
     private Long lastMessageTime;
     private Integer unreadCount;
+
+    // chat_room_summary 조회용 (JPQL 생성자 표현식)
+    public ChatRoomWithLastMessageDTO(Long chatroomId, UUID chatUsr1Id, String chatUsr1Name, String chatUsr2Name,
+                                      UUID chatUsr2Id, Long createdAt, String lastMessage,
+                                      LocalDateTime lastMessageAt, Integer unreadCount) {
+        this(chatroomId, chatUsr1Id, chatUsr1Name, chatUsr2Name, chatUsr2Id, createdAt, lastMessage,
+                lastMessageAt != null ? lastMessageAt.toEpochSecond(ZoneOffset.UTC) : null, unreadCount);
+    }
 }
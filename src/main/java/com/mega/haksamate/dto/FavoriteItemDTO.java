@@ -1,10 +1,12 @@
 package com.mega.haksamate.dto;
 
+import com.mega.haksamate.entity.Item;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Getter
@@ -16,5 +18,20 @@ public class FavoriteItemDTO {
     private String title;
     private Integer price;
     private Long likeCount;
-    private List<String> itemImages; // ✅ 추가!
+    private List<String> itemImages; // ✅ 추가! (대표 이미지 1장)
+    private String status;
+    private Long likeId;             // 다음 페이지 요청 시 cursorId로 전달
+    private LocalDateTime likedAt;   // 다음 페이지 요청 시 cursorLikedAt로 전달
+
+    // JPQL 프로젝션용 (좋아요 수는 조회 후 채움)
+    public FavoriteItemDTO(Long likeId, LocalDateTime likedAt, Long itemid, String title, int price,
+                           Item.Status status, String thumbnail) {
+        this.likeId = likeId;
+        this.likedAt = likedAt;
+        this.itemid = itemid;
+        this.title = title;
+        this.price = price;
+        this.status = status != null ? status.name() : null;
+        this.itemImages = thumbnail != null ? List.of(thumbnail) : List.of();
+    }
 }
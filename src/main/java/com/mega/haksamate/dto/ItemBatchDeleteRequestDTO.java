@@ -0,0 +1,14 @@
+package com.mega.haksamate.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+public class ItemBatchDeleteRequestDTO {
+    private UUID sellerId;
+    private List<Long> itemIds;
+}
@@ -0,0 +1,20 @@
+package com.mega.haksamate.dto;
+
+import lombok.*;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ItemBrowseResponseDTO {
+    private List<ItemSummaryDTO> items;
+    private int totalCount;
+    private int page;
+    private int size;
+    private boolean hasNext;
+    private Map<String, Integer> categoryCounts; // 카테고리 필터를 뺀 나머지 조건 기준 개수
+    private Map<String, Integer> statusCounts;   // 상태 필터를 뺀 나머지 조건 기준 개수
+}
@@ -0,0 +1,28 @@
+package com.mega.haksamate.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+import java.util.UUID;
+
+/**
+ * 게시글 변경 델타 (STOMP /topic/items 전송 + 재개 조회 응답)
+ * 삭제/상태변경은 itemId, status(, category) 만 채워진다.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ItemChangeDTO {
+    private long seq;
+    private String type;      // CREATED, UPDATED, STATUS_CHANGED, DELETED
+    private Long itemid;
+    private String status;
+    private String category;
+    private String title;
+    private Integer price;
+    private Long regdate;
+    private UUID sellerId;
+    private String thumbnail;
+}
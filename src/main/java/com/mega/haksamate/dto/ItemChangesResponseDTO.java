@@ -0,0 +1,16 @@
+package com.mega.haksamate.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ItemChangesResponseDTO {
+    private String epoch;          // 서버 재시작 시 바뀜 → 클라이언트는 전체 재조회
+    private long latestSeq;        // 다음 요청 시 since 로 전달
+    private boolean resetRequired; // 요청한 seq 가 버퍼 밖이면 true (전체 재조회 필요)
+    private List<ItemChangeDTO> events;
+}
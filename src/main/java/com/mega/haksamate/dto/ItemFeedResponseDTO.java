@@ -0,0 +1,16 @@
+package com.mega.haksamate.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ItemFeedResponseDTO {
+    private List<ItemSummaryDTO> items;
+    private Long nextCursorRegdate; // 다음 페이지 요청 시 cursorRegdate로 전달
+    private Long nextCursorId;      // 다음 페이지 요청 시 cursorId로 전달
+    private boolean hasNext;
+}
@@ -0,0 +1,12 @@
+package com.mega.haksamate.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 게시글별 좋아요 수 (GROUP BY 집계 결과)
+@Getter
+@AllArgsConstructor
+public class ItemLikeCountDTO {
+    private Long itemId;
+    private Long likeCount;
+}
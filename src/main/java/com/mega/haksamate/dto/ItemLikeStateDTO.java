@@ -0,0 +1,14 @@
+package com.mega.haksamate.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ItemLikeStateDTO {
+    private Long itemId;
+    private long count;
+    private boolean liked;
+}
@@ -0,0 +1,43 @@
+package com.mega.haksamate.dto;
+
+import com.mega.haksamate.entity.Item;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * 인메모리 인덱스 동기화용 게시글 스냅샷 (이미지는 대표 이미지 1장만)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemSnapshotDTO {
+    private Long itemid;
+    private String title;
+    private String description;
+    private String category;
+    private Item.Status status;
+    private int price;
+    private Long regdate;
+    private UUID sellerId;
+    private String thumbnail;
+
+    public static ItemSnapshotDTO from(Item item) {
+        return new ItemSnapshotDTO(
+                item.getItemid(),
+                item.getTitle(),
+                item.getDescription(),
+                item.getCategory(),
+                item.getStatus(),
+                item.getPrice(),
+                item.getRegdate(),
+                item.getSeller() != null ? item.getSeller().getId() : null,
+                item.getThumbnail() != null ? item.getThumbnail()
+                        : item.getItemImages() != null && !item.getItemImages().isEmpty()
+                        ? item.getItemImages().get(0).getPhotoPath()
+                        : null
+        );
+    }
+}
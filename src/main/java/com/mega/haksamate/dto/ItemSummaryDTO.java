@@ -0,0 +1,32 @@
+package com.mega.haksamate.dto;
+
+import com.mega.haksamate.entity.Item;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * 목록 카드용 경량 DTO (설명/전체 이미지 없이 대표 이미지 1장)
+ * ItemRepository 의 JPQL 생성자 프로젝션으로 바로 채워진다.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemSummaryDTO {
+    private Long itemid;
+    private String title;
+    private int price;
+    private String category;
+    private String status;
+    private Long regdate;
+    private UUID sellerId;
+    private String thumbnail;
+
+    // JPQL 프로젝션용 (status 는 enum 으로 받아 문자열로 변환)
+    public ItemSummaryDTO(Long itemid, String title, int price, String category, Item.Status status,
+                          Long regdate, UUID sellerId, String thumbnail) {
+        this(itemid, title, price, category, status != null ? status.name() : null, regdate, sellerId, thumbnail);
+    }
+}
@@ -0,0 +1,14 @@
+package com.mega.haksamate.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+public class LikeBatchRequestDTO {
+    private UUID userId;        // 비로그인이면 null → liked 는 모두 false
+    private List<Long> itemIds;
+}
@@ -13,8 +13,11 @@ import com.fasterxml.jackson.annotation.JsonFormat;
 @AllArgsConstructor
 @NoArgsConstructor
 public class MessageDTO {
+    private Long messageId; // 서버가 저장 후 채워서 전송 (재연결 sync 의 afterId 로 사용)
+    private String clientMessageId; // 클라이언트가 만든 멱등 키 (재전송 시 같은 값)
     private Long chatRoomId;
     private UUID senderId;
+    private String senderName; // 서버가 채워서 전송
     private String content;
 
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss") // ISO 형식
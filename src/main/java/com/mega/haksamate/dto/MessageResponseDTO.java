@@ -1,13 +1,17 @@
 package com.mega.haksamate.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Builder
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class MessageResponseDTO {
     private Long messageId;
     private Long chatRoomId;
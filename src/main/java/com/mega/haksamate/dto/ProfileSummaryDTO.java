@@ -0,0 +1,15 @@
+package com.mega.haksamate.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+// 프로필 요약 (ProfileSummaryCache 값, 불변)
+@Getter
+@AllArgsConstructor
+public class ProfileSummaryDTO {
+    private final UUID id;
+    private final String name;
+    private final String profileImageUrl;
+}
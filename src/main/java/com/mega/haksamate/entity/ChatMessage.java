@@ -11,6 +11,14 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Table(uniqueConstraints = {
+        // 클라이언트 재전송 중복 방지 (client_message_id 가 NULL 인 예전 메시지는 제외됨)
+        @UniqueConstraint(name = "uk_chat_message_client_id", columnNames = {"chatroomid", "client_message_id"})
+}, indexes = {
+        @Index(name = "idx_chat_message_room_sent", columnList = "chatroomid, sent_at, message_id"),
+        // 재연결 동기화 / 읽음 위치 이후 안읽은 수
+        @Index(name = "idx_chat_message_room_id", columnList = "chatroomid, message_id")
+})
 public class ChatMessage {
 
     @Id
@@ -31,6 +39,9 @@ public class ChatMessage {
     @Column(name = "sent_at")
     private LocalDateTime sentAt;
 
+    @Column(name = "client_message_id", length = 64)
+    private String clientMessageId;
+
     @Column(name = "is_read")
     private Boolean isRead = false;
 }
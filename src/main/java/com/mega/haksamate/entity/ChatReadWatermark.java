@@ -0,0 +1,37 @@
+package com.mega.haksamate.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 채팅방별 사용자 읽음 위치 (이 ID 이하 메시지는 읽은 것으로 봄)
+ * 메시지 행마다 is_read 를 바꾸는 대신 (채팅방, 사용자)당 한 행만 앞으로 옮긴다.
+ */
+@Entity
+@Table(name = "chat_read_watermark", uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"chatroomid", "user_id"})
+})
+@Getter
+@Setter
+public class ChatReadWatermark {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "chatroomid", nullable = false)
+    private Long chatRoomId;
+
+    @Column(name = "user_id", columnDefinition = "uuid", nullable = false)
+    private UUID userId;
+
+    @Column(name = "last_read_message_id", nullable = false)
+    private Long lastReadMessageId;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt = LocalDateTime.now();
+}
@@ -0,0 +1,52 @@
+package com.mega.haksamate.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 채팅 목록용 비정규화 요약 (채팅방당 1행)
+ * 메시지 전송/읽음 처리 때 한 문장 UPDATE 로 갱신되고, 채팅 목록은 이 테이블만 조회한다.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "chat_room_summary", indexes = {
+        @Index(name = "idx_chat_room_summary_user1", columnList = "user1_id, last_message_at"),
+        @Index(name = "idx_chat_room_summary_user2", columnList = "user2_id, last_message_at")
+})
+public class ChatRoomSummary {
+
+    @Id
+    @Column(name = "chatroomid")
+    private Long chatRoomId;
+
+    @Column(name = "user1_id", columnDefinition = "uuid", nullable = false)
+    private UUID user1Id;
+
+    @Column(name = "user2_id", columnDefinition = "uuid", nullable = false)
+    private UUID user2Id;
+
+    @Column(name = "room_created_at")
+    private Long roomCreatedAt;
+
+    @Column(name = "last_message_id")
+    private Long lastMessageId;
+
+    @Column(name = "last_message_preview", length = 200)
+    private String lastMessagePreview;
+
+    @Column(name = "last_message_at")
+    private LocalDateTime lastMessageAt;
+
+    @Column(name = "user1_unread", nullable = false)
+    private int user1Unread;
+
+    @Column(name = "user2_unread", nullable = false)
+    private int user2Unread;
+}
@@ -0,0 +1,42 @@
+package com.mega.haksamate.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// 이미지 파일 삭제 대기열 (행 삭제와 같은 트랜잭션에서 적재 → 스케줄러가 비움)
+@Entity
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor @Builder
+@Table(name = "image_deletion_queue", indexes = {
+        @Index(name = "idx_image_deletion_queue_next_attempt", columnList = "next_attempt_at, id")
+})
+public class ImageDeletionTask {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "photo_path", nullable = false)
+    private String photoPath;
+
+    @Column(name = "enqueued_at", nullable = false)
+    private LocalDateTime enqueuedAt;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    public static ImageDeletionTask of(String photoPath) {
+        LocalDateTime now = LocalDateTime.now();
+        return ImageDeletionTask.builder()
+                .photoPath(photoPath)
+                .enqueuedAt(now)
+                .nextAttemptAt(now)
+                .attempts(0)
+                .build();
+    }
+}
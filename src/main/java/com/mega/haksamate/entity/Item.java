@@ -12,6 +12,10 @@ import java.util.ArrayList;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Table(indexes = {
+        // 피드 키셋 페이지네이션 (regdate DESC, itemid DESC)
+        @Index(name = "idx_item_regdate_itemid", columnList = "regdate, itemid")
+})
 public class Item {
 
     @Id
@@ -22,8 +26,9 @@ public class Item {
     @JoinColumn(name = "seller_id", referencedColumnName = "id")
     private Profile seller;
 
+    // 상태/구매자/완료일은 ItemRepository 의 조건부 UPDATE(transitionStatus, completeDeal)로만 변경
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "buyer_id", referencedColumnName = "id")
+    @JoinColumn(name = "buyer_id", referencedColumnName = "id", updatable = false)
     private Profile buyer;
 
     @Column(nullable = false)
@@ -41,11 +46,12 @@ public class Item {
     private String category;
 
     @Enumerated(EnumType.STRING)
+    @Column(updatable = false)
     private Status status = Status.판매중;
 
     private Long regdate;
 
-    @Column(name = "completed_date")
+    @Column(name = "completed_date", updatable = false)
     private LocalDateTime completedDate;
 
     private String comment;
@@ -54,8 +60,14 @@ public class Item {
 
     private String time;
 
+    // 비정규화된 좋아요 수 (ItemLikeCounter 가 주기적으로 반영, 엔티티 수정 시에는 덮어쓰지 않음)
+    @Builder.Default
+    @Column(name = "like_count", nullable = false, updatable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private long likeCount = 0L;
+
     @Builder.Default
     @OneToMany(mappedBy = "item", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("photoid ASC")
     private List<ItemImage> itemImages = new ArrayList<>();
 
     public void addItemImage(ItemImage image) {
@@ -64,6 +76,15 @@ public class Item {
     }
 
     public enum Status {
-        판매중, 예약중, 거래완료
+        판매중, 예약중, 거래완료;
+
+        // 상태 전이 규칙: 이 상태로 바꿀 수 있는 이전 상태들 (거래완료는 최종 상태)
+        public List<Status> allowedSources() {
+            return switch (this) {
+                case 판매중 -> List.of(예약중);
+                case 예약중 -> List.of(판매중);
+                case 거래완료 -> List.of(판매중, 예약중);
+            };
+        }
     }
 }
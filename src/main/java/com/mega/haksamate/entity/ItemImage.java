@@ -8,7 +8,9 @@ import java.time.LocalDateTime;
 @Entity
 @Getter @Setter
 @NoArgsConstructor @AllArgsConstructor @Builder
-@Table(name = "item_images")
+@Table(name = "item_images", indexes = {
+        @Index(name = "idx_item_images_photo_path", columnList = "photo_path")
+})
 public class ItemImage {
 
     @Id
@@ -18,6 +20,13 @@ public class ItemImage {
     @Column(name = "photo_path")
     private String photoPath;
 
+    // 목록 카드용 썸네일 / 상세 화면용 중간 크기 (비동기 생성 전에는 null)
+    @Column(name = "thumbnail_path")
+    private String thumbnailPath;
+
+    @Column(name = "medium_path")
+    private String mediumPath;
+
     private LocalDateTime regdate;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -8,7 +8,10 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "item_like", uniqueConstraints = {
-        @UniqueConstraint(columnNames = {"item_id", "user_id"})
+        @UniqueConstraint(columnNames = {"item_id", "profile_id"})
+}, indexes = {
+        // 사용자별 좋아요 목록 키셋 페이지네이션 (created_at DESC, id DESC)
+        @Index(name = "idx_item_like_profile_created", columnList = "profile_id, created_at, id")
 })
 @Getter
 @Setter
@@ -18,11 +21,11 @@ public class ItemLike {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "item_id", nullable = false)
     private Item item;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "profile_id", nullable = false)
     private Profile user;
 
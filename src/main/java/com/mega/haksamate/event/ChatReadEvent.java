@@ -0,0 +1,10 @@
+package com.mega.haksamate.event;
+
+import java.util.UUID;
+
+/**
+ * 읽음 위치 전진 이벤트
+ * 커밋 이후 /topic/chat/{채팅방}/read 로 읽음 확인 한 건을 전송한다.
+ */
+public record ChatReadEvent(Long chatRoomId, UUID userId, Long lastReadMessageId) {
+}
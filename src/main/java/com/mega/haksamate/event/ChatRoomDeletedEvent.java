@@ -0,0 +1,8 @@
+package com.mega.haksamate.event;
+
+/**
+ * 채팅방 삭제 이벤트
+ * 커밋 이후 ChatMembershipCache 에서 해당 채팅방을 무효화한다.
+ */
+public record ChatRoomDeletedEvent(Long chatRoomId) {
+}
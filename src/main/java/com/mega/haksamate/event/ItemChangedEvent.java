@@ -0,0 +1,32 @@
+package com.mega.haksamate.event;
+
+import com.mega.haksamate.dto.ItemSnapshotDTO;
+import com.mega.haksamate.entity.Item;
+
+/**
+ * 게시글 생성/수정/상태변경/삭제 이벤트
+ * 커밋 이후(@TransactionalEventListener) 인메모리 인덱스/캐시들이 이 이벤트로 동기화된다.
+ * STATUS_CHANGED 는 스냅샷 없이 itemId + status 만 가진다.
+ */
+public record ItemChangedEvent(Type type, Long itemId, ItemSnapshotDTO snapshot, Item.Status status) {
+
+    public enum Type {
+        CREATED, UPDATED, STATUS_CHANGED, DELETED
+    }
+
+    public static ItemChangedEvent created(ItemSnapshotDTO snapshot) {
+        return new ItemChangedEvent(Type.CREATED, snapshot.getItemid(), snapshot, snapshot.getStatus());
+    }
+
+    public static ItemChangedEvent updated(ItemSnapshotDTO snapshot) {
+        return new ItemChangedEvent(Type.UPDATED, snapshot.getItemid(), snapshot, snapshot.getStatus());
+    }
+
+    public static ItemChangedEvent statusChanged(Long itemId, Item.Status status) {
+        return new ItemChangedEvent(Type.STATUS_CHANGED, itemId, null, status);
+    }
+
+    public static ItemChangedEvent deleted(Long itemId) {
+        return new ItemChangedEvent(Type.DELETED, itemId, null, null);
+    }
+}
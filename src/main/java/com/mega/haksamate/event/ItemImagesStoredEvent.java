@@ -0,0 +1,9 @@
+package com.mega.haksamate.event;
+
+import java.util.List;
+
+/**
+ * 게시글에 새 이미지가 저장됨 (커밋 이후 썸네일/중간 크기 변환 대상)
+ */
+public record ItemImagesStoredEvent(Long itemId, List<String> photoPaths) {
+}
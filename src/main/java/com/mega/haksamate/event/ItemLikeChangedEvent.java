@@ -0,0 +1,18 @@
+package com.mega.haksamate.event;
+
+import java.util.UUID;
+
+/**
+ * 좋아요 추가(+1) / 취소(-1) 이벤트
+ * 커밋 이후 ItemLikeCounter / UserLikedItemsCache 가 인메모리 상태에 반영한다.
+ */
+public record ItemLikeChangedEvent(Long itemId, UUID userId, int delta) {
+
+    public static ItemLikeChangedEvent liked(Long itemId, UUID userId) {
+        return new ItemLikeChangedEvent(itemId, userId, 1);
+    }
+
+    public static ItemLikeChangedEvent unliked(Long itemId, UUID userId) {
+        return new ItemLikeChangedEvent(itemId, userId, -1);
+    }
+}
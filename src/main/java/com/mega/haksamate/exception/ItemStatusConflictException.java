@@ -0,0 +1,18 @@
+package com.mega.haksamate.exception;
+
+import com.mega.haksamate.entity.Item;
+import lombok.Getter;
+
+// 현재 상태에서 허용되지 않는 상태 전이 (동시 요청으로 이미 바뀐 경우 포함) → ItemController 에서 409
+@Getter
+public class ItemStatusConflictException extends RuntimeException {
+
+    private final Item.Status currentStatus;
+    private final Item.Status targetStatus;
+
+    public ItemStatusConflictException(Item.Status currentStatus, Item.Status targetStatus) {
+        super("현재 상태(" + currentStatus + ")에서는 " + targetStatus + "(으)로 변경할 수 없습니다.");
+        this.currentStatus = currentStatus;
+        this.targetStatus = targetStatus;
+    }
+}
@@ -1,15 +1,17 @@
 package com.mega.haksamate.repository;
 
-import com.mega.haksamate.dto.ChatRoomResponseDTO;
-import com.mega.haksamate.dto.ChatRoomWithLastMessageDTO;
+import com.mega.haksamate.dto.MessageResponseDTO;
 import com.mega.haksamate.entity.ChatMessage;
 import com.mega.haksamate.entity.ChatRoom;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.UUID;
+import java.util.Optional;
 
 public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long> {
     List<ChatMessage> findByChatRoom_ChatRoomIdOrderBySentAtAsc(Long chatroomid);
@@ -17,14 +19,46 @@ public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long>
     // ✅ 추가
     void deleteAllByChatRoom_ChatRoomId(Long chatroomid);
 
+    // 메시지 조회용 프로젝션 (sender 는 FK 컬럼만 사용, Profile 조인 없음)
+    String MESSAGE_PROJECTION = "SELECT new com.mega.haksamate.dto.MessageResponseDTO(" +
+            "m.messageId, m.chatRoom.chatRoomId, m.sender.id, m.content, m.sentAt) FROM ChatMessage m ";
+
+    @Query(MESSAGE_PROJECTION +
+            "WHERE m.chatRoom.chatRoomId = :chatRoomId ORDER BY m.sentAt ASC, m.messageId ASC")
+    List<MessageResponseDTO> findAllProjectedByChatRoomId(@Param("chatRoomId") Long chatRoomId);
+
+    // 이전 메시지 페이지: (sentAt, messageId) 키셋 커서 기준 최신순
+    @Query(MESSAGE_PROJECTION +
+            "WHERE m.chatRoom.chatRoomId = :chatRoomId " +
+            "AND (:cursorSentAt IS NULL " +
+            "     OR m.sentAt < :cursorSentAt " +
+            "     OR (m.sentAt = :cursorSentAt AND m.messageId < :cursorId)) " +
+            "ORDER BY m.sentAt DESC, m.messageId DESC")
+    List<MessageResponseDTO> findHistory(@Param("chatRoomId") Long chatRoomId,
+                                         @Param("cursorSentAt") LocalDateTime cursorSentAt,
+                                         @Param("cursorId") Long cursorId,
+                                         Pageable pageable);
+
+    // 재연결 동기화: afterId 이후 메시지 (ID 순)
+    @Query(MESSAGE_PROJECTION +
+            "WHERE m.chatRoom.chatRoomId = :chatRoomId AND m.messageId > :afterId " +
+            "ORDER BY m.messageId ASC")
+    List<MessageResponseDTO> findAfter(@Param("chatRoomId") Long chatRoomId,
+                                       @Param("afterId") Long afterId,
+                                       Pageable pageable);
+
+    // 읽음 위치 검증: 메시지가 속한 채팅방 (보관 파일로 옮겨진 메시지는 조회되지 않음)
+    @Query("SELECT m.chatRoom.chatRoomId FROM ChatMessage m WHERE m.messageId = :messageId")
+    Optional<Long> findChatRoomIdByMessageId(@Param("messageId") Long messageId);
+
     ChatMessage findTop1ByChatRoomOrderBySentAtDesc(ChatRoom chatRoom);
 
-    @Query("""
-SELECT COUNT(m) FROM ChatMessage m
-WHERE m.chatRoom.chatRoomId = :chatRoomId
-  AND m.sender.id <> :myUserId
-  AND (m.isRead = false OR m.isRead IS NULL)
-""")
-    int countUnreadByChatRoomAndUser(@Param("chatRoomId") Long chatRoomId, @Param("myUserId") UUID myUserId);
+    // 보관 대상: cutoff 이전 메시지가 남아 있는 채팅방
+    @Query("SELECT DISTINCT m.chatRoom.chatRoomId FROM ChatMessage m WHERE m.sentAt < :cutoff")
+    List<Long> findRoomIdsWithMessagesBefore(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
 
+    // 보관 파일로 옮긴 메시지 삭제 (upToId 이하는 모두 보관됨)
+    @Modifying
+    @Query("DELETE FROM ChatMessage m WHERE m.chatRoom.chatRoomId = :chatRoomId AND m.messageId <= :upToId")
+    int deleteArchived(@Param("chatRoomId") Long chatRoomId, @Param("upToId") Long upToId);
 }
@@ -0,0 +1,29 @@
+package com.mega.haksamate.repository;
+
+import com.mega.haksamate.entity.ChatReadWatermark;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface ChatReadWatermarkRepository extends JpaRepository<ChatReadWatermark, Long> {
+
+    // 읽음 위치 전진 (뒤로 가는 요청은 무시 → 0 반환)
+    @Modifying
+    @Query(value = "INSERT INTO chat_read_watermark (chatroomid, user_id, last_read_message_id, updated_at) " +
+            "VALUES (:chatRoomId, :userId, :messageId, now()) " +
+            "ON CONFLICT (chatroomid, user_id) DO UPDATE " +
+            "SET last_read_message_id = EXCLUDED.last_read_message_id, updated_at = EXCLUDED.updated_at " +
+            "WHERE chat_read_watermark.last_read_message_id < EXCLUDED.last_read_message_id", nativeQuery = true)
+    int advance(@Param("chatRoomId") Long chatRoomId,
+                @Param("userId") UUID userId,
+                @Param("messageId") Long messageId);
+
+    // 채팅방 입장 시 상대방 읽음 위치 표시용
+    List<ChatReadWatermark> findByChatRoomId(Long chatRoomId);
+
+    void deleteByChatRoomId(Long chatRoomId);
+}
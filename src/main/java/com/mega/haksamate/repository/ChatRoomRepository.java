@@ -1,7 +1,10 @@
 package com.mega.haksamate.repository;
 
+import com.mega.haksamate.dto.ChatRoomMembersDTO;
 import com.mega.haksamate.entity.ChatRoom;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -13,4 +16,9 @@ public interface ChatRoomRepository extends JpaRepository<ChatRoom, Long> {
     Optional<ChatRoom> findByChatUsr1Id_IdAndChatUsr2Id_Id(UUID chatusr1Id, UUID chatusr2Id);
 
     List<ChatRoom> findByChatUsr1Id_IdOrChatUsr2Id_Id(UUID userId, UUID userId1);
+
+    // 참여자 ID/이름만 (ChatMembershipCache 로딩용)
+    @Query("SELECT new com.mega.haksamate.dto.ChatRoomMembersDTO(r.chatRoomId, u1.id, u1.name, u2.id, u2.name) " +
+            "FROM ChatRoom r JOIN r.chatUsr1Id u1 JOIN r.chatUsr2Id u2 WHERE r.chatRoomId = :chatRoomId")
+    Optional<ChatRoomMembersDTO> findMembers(@Param("chatRoomId") Long chatRoomId);
 }
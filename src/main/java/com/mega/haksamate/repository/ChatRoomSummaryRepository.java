@@ -0,0 +1,92 @@
+package com.mega.haksamate.repository;
+
+import com.mega.haksamate.dto.ChatRoomWithLastMessageDTO;
+import com.mega.haksamate.entity.ChatRoomSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface ChatRoomSummaryRepository extends JpaRepository<ChatRoomSummary, Long> {
+
+    int PREVIEW_LENGTH = 200;
+
+    // 채팅 목록: 요약 + 참여자 이름을 한 번에 (최근 메시지 순)
+    @Query("SELECT new com.mega.haksamate.dto.ChatRoomWithLastMessageDTO(" +
+            "s.chatRoomId, s.user1Id, p1.name, p2.name, s.user2Id, s.roomCreatedAt, s.lastMessagePreview, s.lastMessageAt, " +
+            "CASE WHEN s.user1Id = :userId THEN s.user1Unread ELSE s.user2Unread END) " +
+            "FROM ChatRoomSummary s " +
+            "LEFT JOIN Profile p1 ON p1.id = s.user1Id " +
+            "LEFT JOIN Profile p2 ON p2.id = s.user2Id " +
+            "WHERE s.user1Id = :userId OR s.user2Id = :userId " +
+            "ORDER BY s.lastMessageAt DESC NULLS LAST, s.chatRoomId DESC")
+    List<ChatRoomWithLastMessageDTO> findInbox(@Param("userId") UUID userId);
+
+    // 메시지 전송: 마지막 메시지 갱신 + 받는 사람 안읽음 +1 (한 문장)
+    // (ChatMessageBatcher 가 같은 SQL 을 JDBC 배치로 실행)
+    String APPLY_MESSAGE_SQL = "UPDATE chat_room_summary SET " +
+            "last_message_id = :messageId, last_message_preview = LEFT(:content, " + PREVIEW_LENGTH + "), last_message_at = :sentAt, " +
+            "user1_unread = user1_unread + CASE WHEN user1_id = :senderId THEN 0 ELSE 1 END, " +
+            "user2_unread = user2_unread + CASE WHEN user2_id = :senderId THEN 0 ELSE 1 END " +
+            "WHERE chatroomid = :chatRoomId";
+
+    @Modifying
+    @Query(value = APPLY_MESSAGE_SQL, nativeQuery = true)
+    int applyMessage(@Param("chatRoomId") Long chatRoomId,
+                     @Param("messageId") Long messageId,
+                     @Param("senderId") UUID senderId,
+                     @Param("content") String content,
+                     @Param("sentAt") LocalDateTime sentAt);
+
+    String UNREAD_AFTER_SQL = "SELECT COUNT(*) FROM chat_message m WHERE m.chatroomid = :chatRoomId " +
+            "AND m.sender_id <> :userId AND m.message_id > :lastReadMessageId";
+
+    // 읽음 처리: 해당 사용자의 안읽은 수 = 읽음 위치 이후 상대가 보낸 메시지 수 (한 문장)
+    @Modifying
+    @Query(value = "UPDATE chat_room_summary SET " +
+            "user1_unread = CASE WHEN user1_id = :userId THEN (" + UNREAD_AFTER_SQL + ") ELSE user1_unread END, " +
+            "user2_unread = CASE WHEN user2_id = :userId THEN (" + UNREAD_AFTER_SQL + ") ELSE user2_unread END " +
+            "WHERE chatroomid = :chatRoomId", nativeQuery = true)
+    int recountUnread(@Param("chatRoomId") Long chatRoomId,
+                      @Param("userId") UUID userId,
+                      @Param("lastReadMessageId") Long lastReadMessageId);
+
+    @Query("SELECT s.lastMessageId FROM ChatRoomSummary s WHERE s.chatRoomId = :chatRoomId")
+    Long findLastMessageId(@Param("chatRoomId") Long chatRoomId);
+
+    // 채팅방 참여자별 읽음 위치 (없으면 0 → 상대 메시지 전부 안읽음)
+    String WATERMARK_USER1_SQL = "COALESCE((SELECT w.last_read_message_id FROM chat_read_watermark w " +
+            "WHERE w.chatroomid = r.chatroomid AND w.user_id = r.chatusr1_id), 0)";
+    String WATERMARK_USER2_SQL = "COALESCE((SELECT w.last_read_message_id FROM chat_read_watermark w " +
+            "WHERE w.chatroomid = r.chatroomid AND w.user_id = r.chatusr2_id), 0)";
+
+    String BACKFILL_SQL = "INSERT INTO chat_room_summary (chatroomid, user1_id, user2_id, room_created_at, " +
+            "last_message_id, last_message_preview, last_message_at, user1_unread, user2_unread) " +
+            "SELECT r.chatroomid, r.chatusr1_id, r.chatusr2_id, r.created_at, " +
+            "lm.message_id, LEFT(lm.message_content, " + PREVIEW_LENGTH + "), lm.sent_at, " +
+            "(SELECT COUNT(*) FROM chat_message m WHERE m.chatroomid = r.chatroomid AND m.sender_id <> r.chatusr1_id " +
+            "   AND m.message_id > " + WATERMARK_USER1_SQL + "), " +
+            "(SELECT COUNT(*) FROM chat_message m WHERE m.chatroomid = r.chatroomid AND m.sender_id <> r.chatusr2_id " +
+            "   AND m.message_id > " + WATERMARK_USER2_SQL + ") " +
+            "FROM chat_room r " +
+            "LEFT JOIN LATERAL (SELECT m.message_id, m.message_content, m.sent_at FROM chat_message m " +
+            "   WHERE m.chatroomid = r.chatroomid ORDER BY m.sent_at DESC, m.message_id DESC LIMIT 1) lm ON true ";
+
+    // 요약이 없는 채팅방을 기존 메시지로부터 채움 (시작 시)
+    @Modifying
+    @Query(value = BACKFILL_SQL + "ON CONFLICT (chatroomid) DO NOTHING", nativeQuery = true)
+    int backfillMissing();
+
+    // 한 채팅방만 채움 (요약 행이 누락된 채로 메시지가 들어온 경우)
+    String BACKFILL_ROOM_SQL = BACKFILL_SQL + "WHERE r.chatroomid = :chatRoomId ON CONFLICT (chatroomid) DO NOTHING";
+
+    @Modifying
+    @Query(value = BACKFILL_ROOM_SQL, nativeQuery = true)
+    int backfillRoom(@Param("chatRoomId") Long chatRoomId);
+
+    void deleteByChatRoomId(Long chatRoomId);
+}
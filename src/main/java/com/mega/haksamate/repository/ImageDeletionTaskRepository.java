@@ -0,0 +1,25 @@
+package com.mega.haksamate.repository;
+
+import com.mega.haksamate.entity.ImageDeletionTask;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface ImageDeletionTaskRepository extends JpaRepository<ImageDeletionTask, Long> {
+
+    @Query("SELECT t FROM ImageDeletionTask t WHERE t.nextAttemptAt <= :now ORDER BY t.nextAttemptAt, t.id")
+    List<ImageDeletionTask> findDue(@Param("now") LocalDateTime now, Pageable pageable);
+
+    // 게시글 일괄 삭제 시 이미지 경로를 한 번의 INSERT ... SELECT 로 적재
+    @Modifying
+    @Query(value = "INSERT INTO image_deletion_queue (photo_path, enqueued_at, next_attempt_at, attempts) " +
+            "SELECT DISTINCT img.photo_path, now(), now(), 0 FROM item_images img " +
+            "WHERE img.item_itemid IN (:itemIds) AND img.photo_path IS NOT NULL", nativeQuery = true)
+    int enqueueImagesOfItems(@Param("itemIds") Collection<Long> itemIds);
+}
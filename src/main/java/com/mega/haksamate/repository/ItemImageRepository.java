@@ -2,6 +2,36 @@ package com.mega.haksamate.repository;
 
 import com.mega.haksamate.entity.ItemImage;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface ItemImageRepository extends JpaRepository<ItemImage, String> {
+import java.util.Collection;
+import java.util.List;
+
+public interface ItemImageRepository extends JpaRepository<ItemImage, Long> {
+
+    // 내용 주소 기반 저장소의 참조 카운트 확인용
+    boolean existsByPhotoPath(String photoPath);
+
+    // 같은 파일에 대한 업로드(이동)와 삭제를 직렬화: 트랜잭션이 끝날 때 풀리는 PostgreSQL advisory lock
+    @Query(value = "SELECT 1 FROM (SELECT pg_advisory_xact_lock(:key)) l", nativeQuery = true)
+    Integer lockPhotoPath(@Param("key") long key);
+
+    // 고아 파일 스캔: 배치로 넘긴 경로 중 실제로 참조되는 것만
+    @Query("SELECT DISTINCT img.photoPath FROM ItemImage img WHERE img.photoPath IN :paths")
+    List<String> findReferencedPhotoPaths(@Param("paths") Collection<String> paths);
+
+    @Modifying
+    @Query("DELETE FROM ItemImage img WHERE img.item.itemid IN :itemIds")
+    int deleteByItemIds(@Param("itemIds") Collection<Long> itemIds);
+
+    // 비동기 변환 결과 기록 (이미지 행의 변환 경로만 갱신)
+    @Modifying
+    @Query("UPDATE ItemImage img SET img.thumbnailPath = :thumbnailPath, img.mediumPath = :mediumPath " +
+            "WHERE img.item.itemid = :itemId AND img.photoPath = :photoPath")
+    int updateVariants(@Param("itemId") Long itemId,
+                       @Param("photoPath") String photoPath,
+                       @Param("thumbnailPath") String thumbnailPath,
+                       @Param("mediumPath") String mediumPath);
 }
@@ -1,24 +1,73 @@
 package com.mega.haksamate.repository;
 
+import com.mega.haksamate.dto.FavoriteItemDTO;
+import com.mega.haksamate.dto.ItemLikeCountDTO;
 import com.mega.haksamate.entity.Item;
 import com.mega.haksamate.entity.ItemLike;
 import com.mega.haksamate.entity.Profile;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 public interface ItemLikeRepository extends JpaRepository<ItemLike, Long> {
     Optional<ItemLike> findByItemAndUser(Item item, Profile user);
     Long countByItem(Item item);
+    long countByItem_Itemid(Long itemId);
     List<ItemLike> findByUser(Profile user);
     boolean existsByItemAndUser(Item item, Profile user);
     void deleteByItemAndUser(Item item, Profile user);
 
+    // 좋아요 추가/취소: ID 기준 한 문장, 반환값 0 이면 이미 그 상태
+    @Modifying
+    @Query(value = "INSERT INTO item_like (item_id, profile_id, created_at) VALUES (:itemId, :userId, now()) " +
+            "ON CONFLICT (item_id, profile_id) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("itemId") Long itemId, @Param("userId") UUID userId);
+
+    @Modifying
+    @Query(value = "DELETE FROM item_like WHERE item_id = :itemId AND profile_id = :userId", nativeQuery = true)
+    int deleteByItemIdAndUserId(@Param("itemId") Long itemId, @Param("userId") UUID userId);
+
     @Modifying
     @Query("DELETE FROM ItemLike il WHERE il.item.itemid = :itemid")
     void deleteByItemId(@Param("itemid") Long itemid);
+
+    // 좋아요 목록: 게시글 요약 + 대표 이미지를 한 번에, (createdAt, id) 키셋 페이지네이션
+    @Query("SELECT new com.mega.haksamate.dto.FavoriteItemDTO(il.id, il.createdAt, i.itemid, i.title, i.price, i.status, " +
+            ItemRepository.FIRST_IMAGE_PATH + ") " +
+            "FROM ItemLike il JOIN il.item i " +
+            "WHERE il.user.id = :userId " +
+            "AND (:cursorLikedAt IS NULL " +
+            "     OR il.createdAt < :cursorLikedAt " +
+            "     OR (il.createdAt = :cursorLikedAt AND il.id < :cursorId)) " +
+            "ORDER BY il.createdAt DESC, il.id DESC")
+    List<FavoriteItemDTO> findFavorites(@Param("userId") UUID userId,
+                                        @Param("cursorLikedAt") LocalDateTime cursorLikedAt,
+                                        @Param("cursorId") Long cursorId,
+                                        Pageable pageable);
+
+    // 사용자별 좋아요 게시글 ID (목록 화면 좋아요 여부 일괄 확인용)
+    @Query("SELECT il.item.itemid FROM ItemLike il WHERE il.user.id = :userId")
+    List<Long> findLikedItemIdsByUserId(@Param("userId") UUID userId);
+
+    // 카운터 초기화 전 대체용: 여러 게시글 좋아요 수를 IN 조회 한 번으로
+    @Query("SELECT new com.mega.haksamate.dto.ItemLikeCountDTO(il.item.itemid, COUNT(il)) " +
+            "FROM ItemLike il WHERE il.item.itemid IN :itemIds GROUP BY il.item.itemid")
+    List<ItemLikeCountDTO> countByItemIds(@Param("itemIds") Collection<Long> itemIds);
+
+    // 좋아요 카운터 초기화/정합성 확인용
+    @Query("SELECT new com.mega.haksamate.dto.ItemLikeCountDTO(il.item.itemid, COUNT(il)) " +
+            "FROM ItemLike il GROUP BY il.item.itemid")
+    List<ItemLikeCountDTO> countGroupByItem();
+
+    @Modifying
+    @Query("DELETE FROM ItemLike il WHERE il.item.itemid IN :itemIds")
+    int deleteByItemIds(@Param("itemIds") Collection<Long> itemIds);
 }
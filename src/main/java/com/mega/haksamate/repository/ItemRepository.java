@@ -1,21 +1,33 @@
 package com.mega.haksamate.repository;
 
+import com.mega.haksamate.dto.ItemSnapshotDTO;
+import com.mega.haksamate.dto.ItemSummaryDTO;
 import com.mega.haksamate.entity.Item;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
-    @Query("SELECT DISTINCT i FROM Item i " +
-            "LEFT JOIN FETCH i.seller " +
-            "LEFT JOIN FETCH i.itemImages")
-    List<Item> findAllWithSellerAndImages();
+    // 대표 이미지: 썸네일이 생성되어 있으면 썸네일, 아니면 가장 먼저 등록된 원본 이미지 (SQL 서브쿼리로 선택)
+    String FIRST_IMAGE_PATH = "COALESCE(i.thumbnail, (SELECT img.photoPath FROM ItemImage img WHERE img.photoid = " +
+            "   (SELECT MIN(img2.photoid) FROM ItemImage img2 WHERE img2.item = i)))";
+
+    // 목록 카드용 프로젝션 (설명/이미지 컬렉션을 로딩하지 않음)
+    String SUMMARY_SELECT = "SELECT new com.mega.haksamate.dto.ItemSummaryDTO(" +
+            "i.itemid, i.title, i.price, i.category, i.status, i.regdate, s.id, " + FIRST_IMAGE_PATH + ") " +
+            "FROM Item i LEFT JOIN i.seller s ";
+
+    @Query(SUMMARY_SELECT + "ORDER BY i.regdate DESC, i.itemid DESC")
+    List<ItemSummaryDTO> findAllSummaries();
 
     @Query("SELECT i FROM Item i " +
             "LEFT JOIN FETCH i.seller " +
@@ -23,22 +35,89 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
             "WHERE i.itemid = :id")
     Optional<Item> findItemWithSellerAndImagesById(@Param("id") Long id);
 
-    @Query("SELECT DISTINCT i FROM Item i " +
-            "LEFT JOIN FETCH i.seller s " +
-            "LEFT JOIN FETCH i.itemImages " +
-            "WHERE s.id = :userId")
-    List<Item> findBySellerUserIdWithImages(@Param("userId") UUID userId);
+    @Query(SUMMARY_SELECT + "WHERE s.id = :userId ORDER BY i.regdate DESC, i.itemid DESC")
+    List<ItemSummaryDTO> findSummariesBySellerId(@Param("userId") UUID userId);
 
-    @Query("SELECT DISTINCT i FROM Item i " +
-            "LEFT JOIN FETCH i.seller " +
-            "LEFT JOIN FETCH i.itemImages " +
-            "WHERE i.buyer.id = :buyerId AND i.status = '거래완료'")
-    List<Item> findCompletedByBuyerUserId(@Param("buyerId") UUID buyerId);
-
-    @Query("SELECT DISTINCT i FROM Item i " +
-            "WHERE LOWER(i.title) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
-            "OR LOWER(i.description) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
-            "ORDER BY i.regdate DESC")
-    List<Item> findTop10ByKeyword(@Param("keyword") String keyword);
+    @Query(SUMMARY_SELECT + "WHERE i.buyer.id = :buyerId AND i.status = '거래완료' " +
+            "ORDER BY i.completedDate DESC")
+    List<ItemSummaryDTO> findCompletedSummariesByBuyerId(@Param("buyerId") UUID buyerId);
+
+    @Query(SUMMARY_SELECT + "WHERE i.itemid IN :ids")
+    List<ItemSummaryDTO> findSummariesByIds(@Param("ids") Collection<Long> ids);
+
+    // 피드용: 커서 (regdate, itemid) 이후의 한 페이지 분량 ID만 조회 (인덱스 스캔)
+    @Query("SELECT i.itemid FROM Item i " +
+            "WHERE (:status IS NULL OR i.status = :status) " +
+            "AND (:category IS NULL OR i.category = :category) " +
+            "AND (:cursorRegdate IS NULL " +
+            "     OR i.regdate < :cursorRegdate " +
+            "     OR (i.regdate = :cursorRegdate AND i.itemid < :cursorId)) " +
+            "ORDER BY i.regdate DESC, i.itemid DESC")
+    List<Long> findFeedItemIds(@Param("cursorRegdate") Long cursorRegdate,
+                               @Param("cursorId") Long cursorId,
+                               @Param("status") Item.Status status,
+                               @Param("category") String category,
+                               Pageable pageable);
+
+    // 인메모리 인덱스 빌드용
+    @Query("SELECT new com.mega.haksamate.dto.ItemSnapshotDTO(" +
+            "i.itemid, i.title, i.description, i.category, i.status, i.price, i.regdate, s.id, " + FIRST_IMAGE_PATH + ") " +
+            "FROM Item i LEFT JOIN i.seller s")
+    List<ItemSnapshotDTO> findAllSnapshots();
+
+    @Query("SELECT new com.mega.haksamate.dto.ItemSnapshotDTO(" +
+            "i.itemid, i.title, i.description, i.category, i.status, i.price, i.regdate, s.id, " + FIRST_IMAGE_PATH + ") " +
+            "FROM Item i LEFT JOIN i.seller s WHERE i.itemid = :id")
+    Optional<ItemSnapshotDTO> findSnapshotById(@Param("id") Long id);
+
+    // 일괄 삭제 대상 중 해당 판매자 소유 게시글만
+    @Query("SELECT i.itemid FROM Item i WHERE i.seller.id = :sellerId AND i.itemid IN :ids")
+    List<Long> findIdsOwnedBySeller(@Param("sellerId") UUID sellerId, @Param("ids") Collection<Long> ids);
+
+    // 상태 전이: 현재 상태가 sources 중 하나일 때만 한 문장으로 변경 (0 이면 전제 조건 실패)
+    @Modifying
+    @Query("UPDATE Item i SET i.status = :target, i.completedDate = :completedDate " +
+            "WHERE i.itemid = :id AND i.status IN :sources")
+    int transitionStatus(@Param("id") Long id,
+                         @Param("target") Item.Status target,
+                         @Param("sources") Collection<Item.Status> sources,
+                         @Param("completedDate") LocalDateTime completedDate);
+
+    // 거래 완료: 채팅방의 user1 을 구매자로 등록하면서 상태 전이 (채팅방이 없으면 0)
+    @Modifying
+    @Query(value = "UPDATE item SET status = '거래완료', completed_date = :completedDate, " +
+            "buyer_id = (SELECT cr.chatusr1_id FROM chat_room cr WHERE cr.chatroomid = :chatRoomId) " +
+            "WHERE itemid = :id AND status IN (:sources) " +
+            "AND EXISTS (SELECT 1 FROM chat_room cr WHERE cr.chatroomid = :chatRoomId)", nativeQuery = true)
+    int completeDeal(@Param("id") Long id,
+                     @Param("chatRoomId") Long chatRoomId,
+                     @Param("sources") Collection<String> sources,
+                     @Param("completedDate") LocalDateTime completedDate);
+
+    // 좋아요 수 write-behind 반영 (엔티티에서는 updatable = false)
+    @Modifying
+    @Query(value = "UPDATE item SET like_count = :likeCount WHERE itemid = :id AND like_count <> :likeCount", nativeQuery = true)
+    int updateLikeCount(@Param("id") Long id, @Param("likeCount") long likeCount);
+
+    // 비동기 썸네일 생성 후 대표 썸네일만 갱신 (다른 컬럼은 건드리지 않음)
+    @Modifying
+    @Query(value = "UPDATE item SET thumbnail = (SELECT img.thumbnail_path FROM item_images img " +
+            "WHERE img.item_itemid = :id ORDER BY img.photoid LIMIT 1) WHERE itemid = :id", nativeQuery = true)
+    int refreshThumbnail(@Param("id") Long id);
+
+    // 정합성 확인: 저장된 like_count 가 실제 좋아요 행 수와 다른 게시글만 보정
+    @Modifying
+    @Query(value = "UPDATE item i SET like_count = c.cnt FROM (" +
+            "SELECT it.itemid, COUNT(l.id) AS cnt FROM item it LEFT JOIN item_like l ON l.item_id = it.itemid GROUP BY it.itemid" +
+            ") c WHERE c.itemid = i.itemid AND i.like_count <> c.cnt", nativeQuery = true)
+    int repairLikeCounts();
+
+    // 전이 실패 원인 확인용 (없음 / 상태 충돌)
+    @Query("SELECT i.status FROM Item i WHERE i.itemid = :id")
+    Optional<Item.Status> findStatusById(@Param("id") Long id);
+
+    @Modifying
+    @Query("DELETE FROM Item i WHERE i.itemid IN :ids")
+    int deleteByItemIds(@Param("ids") Collection<Long> ids);
 
 }
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -17,4 +18,8 @@ public interface ItemTransactionRepository extends JpaRepository<ItemTransaction
 
 
     List<ItemTransaction> findAllByItem_ItemidAndProfile_IdAndDistinctSellerNot(Long itemId, UUID userId, UUID userId1);
+
+    @Modifying
+    @Query("DELETE FROM ItemTransaction t WHERE t.item.itemid IN :itemIds")
+    int deleteByItemIds(@Param("itemIds") Collection<Long> itemIds);
 }
@@ -1,10 +1,16 @@
 package com.mega.haksamate.repository;
 
+import com.mega.haksamate.dto.ProfileSummaryDTO;
 import com.mega.haksamate.entity.Profile;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Optional;
 import java.util.UUID;
 
 public interface ProfileRepository extends JpaRepository<Profile, UUID> {
 
+    @Query("SELECT new com.mega.haksamate.dto.ProfileSummaryDTO(p.id, p.name, p.profileImageUrl) FROM Profile p WHERE p.id = :id")
+    Optional<ProfileSummaryDTO> findSummaryById(@Param("id") UUID id);
 }
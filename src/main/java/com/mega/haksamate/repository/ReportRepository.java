@@ -3,7 +3,17 @@ package com.mega.haksamate.repository;
 import com.mega.haksamate.entity.Report;
 import com.mega.haksamate.entity.Profile;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
 
 public interface ReportRepository extends JpaRepository<Report, Long> {
     long countByReported(Profile reported);
+
+    // 게시글이 삭제돼도 신고 기록은 남김
+    @Modifying
+    @Query("UPDATE Report r SET r.item = NULL WHERE r.item.itemid IN :itemIds")
+    int detachItems(@Param("itemIds") Collection<Long> itemIds);
 }
@@ -5,11 +5,13 @@ import com.mega.haksamate.entity.Profile;
 import com.mega.haksamate.entity.Review;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import com.mega.haksamate.dto.ReviewSummaryDTO;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -30,4 +32,10 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
             "ORDER BY r.createdAt DESC")
     List<ReviewSummaryDTO> findReviewSummariesBySellerId(@Param("sellerId") UUID sellerId);
 
+    // 게시글 일괄 삭제: 게시글에 달린 리뷰 + 해당 게시글 거래에 연결된 리뷰
+    @Modifying
+    @Query("DELETE FROM Review r WHERE r.item.itemid IN :itemIds " +
+            "OR r.transaction.transactionid IN (SELECT t.transactionid FROM ItemTransaction t WHERE t.item.itemid IN :itemIds)")
+    int deleteByItemIds(@Param("itemIds") Collection<Long> itemIds);
+
 }
\ No newline at end of file
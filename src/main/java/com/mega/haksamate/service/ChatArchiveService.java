@@ -0,0 +1,161 @@
+package com.mega.haksamate.service;
+
+import com.mega.haksamate.dto.MessageResponseDTO;
+import com.mega.haksamate.event.ChatRoomDeletedEvent;
+import com.mega.haksamate.repository.ChatMessageRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 오래된 채팅 메시지 보관 작업
+ * max-age-days 보다 오래된 메시지를 채팅방별로 ID 순서대로 ChatArchiveStore 에 옮기고 chat_message 에서 삭제한다.
+ * 중간에 아직 오래되지 않은 메시지를 만나면 거기서 멈추므로 "보관된 마지막 ID 이하 = 전부 보관됨" 이 항상 성립하고,
+ * 파일 기록 후 삭제 전에 실패해도 다음 실행에서 같은 기준으로 삭제만 다시 하면 된다.
+ */
+@Component
+public class ChatArchiveService {
+
+    private static final int ROOMS_PER_RUN = 200;
+    private static final int MESSAGES_PER_BATCH = 1000;
+
+    private final ChatMessageRepository chatMessageRepository;
+    private final ChatArchiveStore chatArchiveStore;
+    private final TransactionTemplate transactionTemplate;
+    private final long maxAgeDays;
+
+    private final LongAdder movedMessages = new LongAdder();
+    private final LongAdder deletedRows = new LongAdder();
+    private final AtomicLong lastRunRooms = new AtomicLong();
+    private final AtomicLong lastRunMillis = new AtomicLong();
+
+    public ChatArchiveService(ChatMessageRepository chatMessageRepository,
+                              ChatArchiveStore chatArchiveStore,
+                              TransactionTemplate transactionTemplate,
+                              @Value("${chat.archive.max-age-days:90}") long maxAgeDays) {
+        this.chatMessageRepository = chatMessageRepository;
+        this.chatArchiveStore = chatArchiveStore;
+        this.transactionTemplate = transactionTemplate;
+        this.maxAgeDays = maxAgeDays;
+    }
+
+    @Scheduled(fixedDelayString = "${chat.archive.interval-ms:3600000}",
+            initialDelayString = "${chat.archive.initial-delay-ms:600000}")
+    public void archive() {
+        long start = System.currentTimeMillis();
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(maxAgeDays);
+        int rooms = 0;
+        try {
+            List<Long> roomIds = chatMessageRepository.findRoomIdsWithMessagesBefore(cutoff, PageRequest.of(0, ROOMS_PER_RUN));
+            for (Long chatRoomId : roomIds) {
+                try {
+                    archiveRoom(chatRoomId, cutoff);
+                    rooms++;
+                } catch (Exception e) {
+                    System.err.println("❌ 채팅 보관 실패: room=" + chatRoomId + ", " + e.getMessage());
+                }
+            }
+            if (rooms > 0) System.out.println("🗄️ 채팅 보관 완료: 채팅방 " + rooms + "개");
+        } catch (Exception e) {
+            System.err.println("❌ 채팅 보관 작업 실패: " + e.getMessage());
+        } finally {
+            lastRunRooms.set(rooms);
+            lastRunMillis.set(System.currentTimeMillis() - start);
+        }
+    }
+
+    /**
+     * 보관 파일 + 남은 메시지를 합쳐서 이전 메시지 페이지 (최신순, 최대 limit 개)
+     * 남은 메시지로 페이지가 차면 보관 파일은 읽지 않음
+     */
+    public List<MessageResponseDTO> mergeBefore(Long chatRoomId, List<MessageResponseDTO> live,
+                                                LocalDateTime cursorSentAt, Long cursorId, int limit) {
+        if (live.size() >= limit || chatArchiveStore.lastArchivedId(chatRoomId) == 0L) return live;
+        List<MessageResponseDTO> archived = chatArchiveStore.readBefore(chatRoomId, cursorSentAt, cursorId, limit);
+        List<MessageResponseDTO> merged = merge(live, archived);
+        merged.sort(Comparator.comparing(MessageResponseDTO::getSentAt)
+                .thenComparing(MessageResponseDTO::getMessageId)
+                .reversed());
+        return merged.size() > limit ? new ArrayList<>(merged.subList(0, limit)) : merged;
+    }
+
+    /**
+     * afterId 이후 메시지 (ID 순, 최대 limit 개): 보관 파일 쪽이 항상 ID 가 작으므로 먼저 읽음
+     */
+    public List<MessageResponseDTO> mergeAfter(Long chatRoomId, List<MessageResponseDTO> live, long afterId, int limit) {
+        if (afterId >= chatArchiveStore.lastArchivedId(chatRoomId)) return live;
+        List<MessageResponseDTO> merged = merge(chatArchiveStore.readAfter(chatRoomId, afterId, limit), live);
+        merged.sort(Comparator.comparing(MessageResponseDTO::getMessageId));
+        return merged.size() > limit ? new ArrayList<>(merged.subList(0, limit)) : merged;
+    }
+
+    public List<MessageResponseDTO> mergeAll(Long chatRoomId, List<MessageResponseDTO> live) {
+        if (chatArchiveStore.lastArchivedId(chatRoomId) == 0L) return live;
+        return merge(chatArchiveStore.readAll(chatRoomId), live);
+    }
+
+    // 채팅방이 삭제되면 보관 파일도 삭제
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoomDeleted(ChatRoomDeletedEvent event) {
+        try {
+            chatArchiveStore.deleteRoom(event.chatRoomId());
+        } catch (IOException e) {
+            System.err.println("❌ 채팅 보관 파일 삭제 실패: room=" + event.chatRoomId() + ", " + e.getMessage());
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>(chatArchiveStore.stats());
+        stats.put("maxAgeDays", maxAgeDays);
+        stats.put("movedMessages", movedMessages.sum());
+        stats.put("deletedRows", deletedRows.sum());
+        stats.put("lastRunRooms", lastRunRooms.get());
+        stats.put("lastRunMillis", lastRunMillis.get());
+        return stats;
+    }
+
+    private void archiveRoom(Long chatRoomId, LocalDateTime cutoff) throws IOException {
+        // 이전 실행에서 파일에는 썼지만 삭제하지 못한 행 정리
+        long archivedUpTo = chatArchiveStore.lastArchivedId(chatRoomId);
+        if (archivedUpTo > 0) deleteArchived(chatRoomId, archivedUpTo);
+
+        while (true) {
+            List<MessageResponseDTO> batch = chatMessageRepository.findAfter(
+                    chatRoomId, archivedUpTo, PageRequest.of(0, MESSAGES_PER_BATCH));
+            List<MessageResponseDTO> expired = new ArrayList<>(batch.size());
+            for (MessageResponseDTO message : batch) {
+                if (message.getSentAt() == null || !message.getSentAt().isBefore(cutoff)) break;
+                expired.add(message);
+            }
+            if (expired.isEmpty()) return;
+
+            chatArchiveStore.append(chatRoomId, expired);
+            movedMessages.add(expired.size());
+            archivedUpTo = expired.get(expired.size() - 1).getMessageId();
+            deleteArchived(chatRoomId, archivedUpTo);
+            if (expired.size() < batch.size() || batch.size() < MESSAGES_PER_BATCH) return;
+        }
+    }
+
+    private void deleteArchived(Long chatRoomId, long upToId) {
+        Integer deleted = transactionTemplate.execute(status -> chatMessageRepository.deleteArchived(chatRoomId, upToId));
+        if (deleted != null) deletedRows.add(deleted);
+    }
+
+    // ID 기준 중복 제거 (보관 직후 삭제 전 잠깐 양쪽에 있을 수 있음)
+    private static List<MessageResponseDTO> merge(List<MessageResponseDTO> first, List<MessageResponseDTO> second) {
+        Map<Long, MessageResponseDTO> byId = new LinkedHashMap<>();
+        first.forEach(message -> byId.putIfAbsent(message.getMessageId(), message));
+        second.forEach(message -> byId.putIfAbsent(message.getMessageId(), message));
+        return new ArrayList<>(byId.values());
+    }
+}
@@ -0,0 +1,365 @@
+package com.mega.haksamate.service;
+
+import com.mega.haksamate.dto.MessageResponseDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 오래된 채팅 메시지 보관 파일 (채팅방마다 <id>.seg + <id>.idx, 추가만 함)
+ * - .seg: 메시지 BLOCK_MESSAGES 개씩 묶어 deflate 로 압축한 블록을 이어 붙임
+ * - .idx: 블록마다 한 항목(희소 인덱스) = 첫/마지막 메시지 ID, 최소/최대 전송 시각, 오프셋, 길이, 개수
+ * 블록을 먼저 쓰고 fsync 한 뒤 인덱스 항목을 추가하므로, 인덱스에 있는 블록은 항상 완전하다.
+ * (인덱스 없이 남은 꼬리 블록은 다음 추가 때 잘라냄) 읽기는 .seg 를 메모리 매핑해서 필요한 블록만 푼다.
+ */
+@Component
+public class ChatArchiveStore {
+
+    private static final int BLOCK_MESSAGES = 128;
+    private static final int INDEX_ENTRY_BYTES = 8 * 5 + 4 * 3;
+
+    // 인덱스 한 항목 (블록 하나)
+    private record Block(long firstId, long lastId, long minSentAt, long maxSentAt,
+                         long offset, int compressedLength, int rawLength, int count) {
+    }
+
+    // 읽기용 스냅샷 (추가될 때마다 새로 만듦)
+    private record View(List<Block> blocks, MappedByteBuffer data) {
+        long lastId() {
+            return blocks.isEmpty() ? 0L : blocks.get(blocks.size() - 1).lastId();
+        }
+    }
+
+    private final Path root;
+    private final int maxOpenRooms;
+    private final Map<Long, View> views;
+
+    private final LongAdder archivedMessages = new LongAdder();
+    private final LongAdder rawBytes = new LongAdder();
+    private final LongAdder compressedBytes = new LongAdder();
+    private final LongAdder blocksRead = new LongAdder();
+
+    public ChatArchiveStore(@Value("${chat.archive.dir:./chat-archive}") String dir,
+                            @Value("${chat.archive.open-rooms:256}") int maxOpenRooms) {
+        this.root = Paths.get(dir).toAbsolutePath().normalize();
+        this.maxOpenRooms = maxOpenRooms;
+        this.views = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, View> eldest) {
+                return size() > ChatArchiveStore.this.maxOpenRooms;
+            }
+        };
+    }
+
+    /**
+     * 보관된 마지막 메시지 ID (없으면 0)
+     * 이 ID 이하의 채팅방 메시지는 모두 보관 파일에 있음
+     */
+    public long lastArchivedId(Long chatRoomId) {
+        return view(chatRoomId).lastId();
+    }
+
+    /**
+     * 메시지 추가 (ID 오름차순, 모두 lastArchivedId 보다 커야 함)
+     * 보관 작업 스레드 하나만 호출한다.
+     */
+    public synchronized void append(Long chatRoomId, List<MessageResponseDTO> messages) throws IOException {
+        if (messages.isEmpty()) return;
+        Files.createDirectories(root);
+        List<Block> existing = readIndex(indexFile(chatRoomId));
+        long lastId = existing.isEmpty() ? 0L : existing.get(existing.size() - 1).lastId();
+        if (messages.get(0).getMessageId() <= lastId) {
+            throw new IllegalStateException("이미 보관된 메시지입니다: room=" + chatRoomId + ", id=" + messages.get(0).getMessageId());
+        }
+
+        try (FileChannel data = FileChannel.open(dataFile(chatRoomId),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             FileChannel index = FileChannel.open(indexFile(chatRoomId),
+                     StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            // 인덱스에 없는 꼬리(중간에 실패한 블록)는 버림
+            long position = existing.isEmpty() ? 0L
+                    : existing.get(existing.size() - 1).offset() + existing.get(existing.size() - 1).compressedLength();
+            data.truncate(position);
+            index.truncate((long) existing.size() * INDEX_ENTRY_BYTES);
+
+            List<Block> written = new ArrayList<>();
+            for (int from = 0; from < messages.size(); from += BLOCK_MESSAGES) {
+                List<MessageResponseDTO> chunk = messages.subList(from, Math.min(from + BLOCK_MESSAGES, messages.size()));
+                byte[] raw = encode(chunk);
+                byte[] compressed = compress(raw);
+                writeFully(data, ByteBuffer.wrap(compressed), position);
+
+                long minSentAt = Long.MAX_VALUE;
+                long maxSentAt = Long.MIN_VALUE;
+                for (MessageResponseDTO message : chunk) {
+                    long sentAt = toMicros(message.getSentAt());
+                    minSentAt = Math.min(minSentAt, sentAt);
+                    maxSentAt = Math.max(maxSentAt, sentAt);
+                }
+                written.add(new Block(chunk.get(0).getMessageId(), chunk.get(chunk.size() - 1).getMessageId(),
+                        minSentAt, maxSentAt, position, compressed.length, raw.length, chunk.size()));
+                position += compressed.length;
+                rawBytes.add(raw.length);
+                compressedBytes.add(compressed.length);
+            }
+            data.force(true);
+
+            ByteBuffer entries = ByteBuffer.allocate(written.size() * INDEX_ENTRY_BYTES);
+            written.forEach(block -> writeEntry(entries, block));
+            entries.flip();
+            writeFully(index, entries, (long) existing.size() * INDEX_ENTRY_BYTES);
+            index.force(true);
+        }
+        archivedMessages.add(messages.size());
+        synchronized (views) {
+            views.remove(chatRoomId); // 다음 읽기 때 새 크기로 다시 매핑
+        }
+    }
+
+    /**
+     * (sentAt, messageId) 커서보다 이전 메시지를 최신순으로 최대 limit 개
+     * 블록은 ID 순으로 쌓여 있으므로 뒤에서부터 풀고, 전송 시각 범위로 건너뛸 블록을 거른다.
+     */
+    public List<MessageResponseDTO> readBefore(Long chatRoomId, LocalDateTime cursorSentAt, Long cursorId, int limit) {
+        View view = view(chatRoomId);
+        List<MessageResponseDTO> collected = new ArrayList<>();
+        long cursorMicros = cursorSentAt != null ? toMicros(cursorSentAt) : Long.MAX_VALUE;
+        long cursorMessageId = cursorId != null ? cursorId : Long.MAX_VALUE;
+        Comparator<MessageResponseDTO> newestFirst = newestFirst();
+
+        for (int i = view.blocks().size() - 1; i >= 0; i--) {
+            Block block = view.blocks().get(i);
+            if (block.minSentAt() > cursorMicros) continue;
+            for (MessageResponseDTO message : decode(chatRoomId, view.data(), block)) {
+                long sentAt = toMicros(message.getSentAt());
+                if (sentAt < cursorMicros || (sentAt == cursorMicros && message.getMessageId() < cursorMessageId)) {
+                    collected.add(message);
+                }
+            }
+            if (collected.size() >= limit) {
+                collected.sort(newestFirst);
+                // 더 이전 블록에 이번 페이지 안에 들어올 메시지가 없으면 중단
+                long boundary = toMicros(collected.get(limit - 1).getSentAt());
+                if (i == 0 || view.blocks().get(i - 1).maxSentAt() < boundary) break;
+            }
+        }
+        collected.sort(newestFirst);
+        return collected.size() > limit ? new ArrayList<>(collected.subList(0, limit)) : collected;
+    }
+
+    /**
+     * afterId 이후 메시지를 ID 순으로 최대 limit 개
+     */
+    public List<MessageResponseDTO> readAfter(Long chatRoomId, long afterId, int limit) {
+        View view = view(chatRoomId);
+        List<MessageResponseDTO> result = new ArrayList<>();
+        for (int i = firstBlockAfter(view.blocks(), afterId); i < view.blocks().size() && result.size() < limit; i++) {
+            for (MessageResponseDTO message : decode(chatRoomId, view.data(), view.blocks().get(i))) {
+                if (message.getMessageId() <= afterId) continue;
+                result.add(message);
+                if (result.size() >= limit) break;
+            }
+        }
+        return result;
+    }
+
+    public List<MessageResponseDTO> readAll(Long chatRoomId) {
+        return readAfter(chatRoomId, 0L, Integer.MAX_VALUE);
+    }
+
+    public synchronized void deleteRoom(Long chatRoomId) throws IOException {
+        synchronized (views) {
+            views.remove(chatRoomId);
+        }
+        Files.deleteIfExists(dataFile(chatRoomId));
+        Files.deleteIfExists(indexFile(chatRoomId));
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("archivedMessages", archivedMessages.sum());
+        stats.put("rawBytes", rawBytes.sum());
+        stats.put("compressedBytes", compressedBytes.sum());
+        stats.put("compressionRatio", rawBytes.sum() == 0 ? 0.0 : (double) compressedBytes.sum() / rawBytes.sum());
+        stats.put("blocksRead", blocksRead.sum());
+        synchronized (views) {
+            stats.put("openRooms", views.size());
+        }
+        return stats;
+    }
+
+    private View view(Long chatRoomId) {
+        synchronized (views) {
+            View cached = views.get(chatRoomId);
+            if (cached != null) return cached;
+        }
+        View loaded = load(chatRoomId);
+        synchronized (views) {
+            views.putIfAbsent(chatRoomId, loaded);
+            return views.get(chatRoomId);
+        }
+    }
+
+    private View load(Long chatRoomId) {
+        try {
+            List<Block> blocks = readIndex(indexFile(chatRoomId));
+            if (blocks.isEmpty()) return new View(List.of(), null);
+            Block last = blocks.get(blocks.size() - 1);
+            try (FileChannel data = FileChannel.open(dataFile(chatRoomId), StandardOpenOption.READ)) {
+                MappedByteBuffer mapped = data.map(FileChannel.MapMode.READ_ONLY, 0, last.offset() + last.compressedLength());
+                return new View(List.copyOf(blocks), mapped);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("채팅 보관 파일을 열 수 없습니다: room=" + chatRoomId, e);
+        }
+    }
+
+    private List<Block> readIndex(Path indexFile) throws IOException {
+        if (!Files.exists(indexFile)) return new ArrayList<>();
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(indexFile));
+        List<Block> blocks = new ArrayList<>(buffer.remaining() / INDEX_ENTRY_BYTES);
+        // 쓰다 만 마지막 항목은 무시
+        while (buffer.remaining() >= INDEX_ENTRY_BYTES) {
+            blocks.add(new Block(buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.getLong(),
+                    buffer.getLong(), buffer.getInt(), buffer.getInt(), buffer.getInt()));
+        }
+        return blocks;
+    }
+
+    private static void writeEntry(ByteBuffer buffer, Block block) {
+        buffer.putLong(block.firstId()).putLong(block.lastId())
+                .putLong(block.minSentAt()).putLong(block.maxSentAt())
+                .putLong(block.offset())
+                .putInt(block.compressedLength()).putInt(block.rawLength()).putInt(block.count());
+    }
+
+    // lastId > afterId 인 첫 블록 (이진 탐색)
+    private static int firstBlockAfter(List<Block> blocks, long afterId) {
+        int low = 0;
+        int high = blocks.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (blocks.get(mid).lastId() <= afterId) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    private List<MessageResponseDTO> decode(Long chatRoomId, MappedByteBuffer data, Block block) {
+        blocksRead.increment();
+        byte[] raw = new byte[block.rawLength()];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data.slice((int) block.offset(), block.compressedLength()));
+            int inflated = 0;
+            while (inflated < raw.length && !inflater.finished()) {
+                int n = inflater.inflate(raw, inflated, raw.length - inflated);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) break;
+                inflated += n;
+            }
+            if (inflated != raw.length) {
+                throw new IllegalStateException("채팅 보관 블록이 손상되었습니다: room=" + chatRoomId + ", offset=" + block.offset());
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("채팅 보관 블록이 손상되었습니다: room=" + chatRoomId + ", offset=" + block.offset(), e);
+        } finally {
+            inflater.end();
+        }
+
+        List<MessageResponseDTO> messages = new ArrayList<>(block.count());
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(raw))) {
+            for (int i = 0; i < block.count(); i++) {
+                long messageId = in.readLong();
+                UUID senderId = new UUID(in.readLong(), in.readLong());
+                LocalDateTime sentAt = fromMicros(in.readLong());
+                byte[] content = new byte[in.readInt()];
+                in.readFully(content);
+                messages.add(new MessageResponseDTO(messageId, chatRoomId, senderId,
+                        new String(content, StandardCharsets.UTF_8), sentAt));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return messages;
+    }
+
+    // 메시지 하나 = ID, 보낸 사람(UUID), 전송 시각(마이크로초), 내용 길이 + UTF-8
+    private static byte[] encode(List<MessageResponseDTO> messages) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            for (MessageResponseDTO message : messages) {
+                byte[] content = message.getContent() != null
+                        ? message.getContent().getBytes(StandardCharsets.UTF_8) : new byte[0];
+                out.writeLong(message.getMessageId());
+                out.writeLong(message.getSenderId().getMostSignificantBits());
+                out.writeLong(message.getSenderId().getLeastSignificantBits());
+                out.writeLong(toMicros(message.getSentAt()));
+                out.writeInt(content.length);
+                out.write(content);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] compress(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 3));
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private static Comparator<MessageResponseDTO> newestFirst() {
+        return Comparator.comparing(MessageResponseDTO::getSentAt)
+                .thenComparing(MessageResponseDTO::getMessageId)
+                .reversed();
+    }
+
+    private static long toMicros(LocalDateTime time) {
+        if (time == null) return 0L;
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    private Path dataFile(Long chatRoomId) {
+        return root.resolve(chatRoomId + ".seg");
+    }
+
+    private Path indexFile(Long chatRoomId) {
+        return root.resolve(chatRoomId + ".idx");
+    }
+}
@@ -0,0 +1,52 @@
+package com.mega.haksamate.service;
+
+import com.mega.haksamate.dto.ChatRoomMembersDTO;
+import com.mega.haksamate.event.ChatRoomDeletedEvent;
+import com.mega.haksamate.repository.ChatRoomRepository;
+import com.mega.haksamate.util.SingleFlightCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * 채팅방 ID → 참여자 ID/이름 캐시
+ * 참여자는 채팅방이 만들어진 뒤 바뀌지 않으므로, 메시지 전송/읽음 처리 때 매번 조회하지 않고 여기서 확인한다.
+ * 채팅방이 삭제되면 커밋 이후 무효화하고, 이름 변경은 TTL 로 반영된다.
+ */
+@Component
+public class ChatMembershipCache {
+
+    private final ChatRoomRepository chatRoomRepository;
+    private final SingleFlightCache<Long, ChatRoomMembersDTO> cache;
+
+    public ChatMembershipCache(ChatRoomRepository chatRoomRepository,
+                               @Value("${chat.membership-cache.max-size:10000}") int maxSize,
+                               @Value("${chat.membership-cache.ttl-seconds:1800}") long ttlSeconds) {
+        this.chatRoomRepository = chatRoomRepository;
+        this.cache = new SingleFlightCache<>(maxSize, ttlSeconds * 1000L);
+    }
+
+    public ChatRoomMembersDTO members(Long chatRoomId) {
+        ChatRoomMembersDTO members = cache.get(chatRoomId, id -> chatRoomRepository.findMembers(id).orElse(null));
+        if (members == null) {
+            throw new NoSuchElementException("채팅방을 찾을 수 없습니다.");
+        }
+        return members;
+    }
+
+    public void invalidate(Long chatRoomId) {
+        cache.invalidate(chatRoomId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoomDeleted(ChatRoomDeletedEvent event) {
+        invalidate(event.chatRoomId());
+    }
+
+    public Map<String, Object> stats() {
+        return cache.stats();
+    }
+}
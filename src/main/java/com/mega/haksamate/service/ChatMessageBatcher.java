@@ -0,0 +1,309 @@
+package com.mega.haksamate.service;
+
+import com.mega.haksamate.dto.MessageDTO;
+import com.mega.haksamate.repository.ChatRoomSummaryRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.dao.NonTransientDataAccessResourceException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 채팅 메시지 그룹 커밋
+ * 모든 채팅방의 전송 요청을 큐에 모았다가 linger-ms 가 지나거나 max-batch 개가 차면
+ * 한 트랜잭션에서 시퀀스 ID 일괄 할당 → JDBC 배치 INSERT → 요약 배치 UPDATE 후 커밋하고,
+ * 커밋된 순서(= 채팅방별 전송 순서)대로 브로드캐스트한다.
+ * wait-for-commit=true 면 전송 스레드가 커밋까지 기다리고(실패 시 예외), false 면 바로 반환한다.
+ * 데이터 오류로 배치가 롤백되면 반씩 나눠 다시 기록해서 원인 메시지만 실패 처리하고,
+ * 바로 반환한 경우(wait-for-commit=false)에는 보낸 사람의 STOMP 세션의 /user/queue/chat.error 로 실패를 알린다.
+ * (로그인 Principal 이 없으므로 @SendToUser 와 같은 방식으로 세션 ID 를 사용자 이름 겸 세션 헤더로 지정)
+ */
+@Component
+public class ChatMessageBatcher {
+
+    private static final String ALLOCATE_IDS_SQL =
+            "SELECT nextval(pg_get_serial_sequence('chat_message', 'message_id')) FROM generate_series(1, :count)";
+    // 같은 클라이언트 메시지 ID 로 이미 저장된 경우(재전송) 건너뜀 → 갱신 행 수 0
+    private static final String INSERT_SQL =
+            "INSERT INTO chat_message (message_id, chatroomid, sender_id, message_content, sent_at, is_read, client_message_id) " +
+            "VALUES (:messageId, :chatRoomId, :senderId, :content, :sentAt, false, :clientMessageId) " +
+            "ON CONFLICT (chatroomid, client_message_id) DO NOTHING";
+    private static final String FIND_ORIGINAL_SQL =
+            "SELECT message_id, sent_at FROM chat_message WHERE chatroomid = :chatRoomId AND client_message_id = :clientMessageId";
+    private static final long COMMIT_TIMEOUT_MS = 10_000;
+
+    // sessionId: 실패 알림을 보낼 보낸 사람의 STOMP 세션 (없으면 알림 생략)
+    private record Pending(MessageDTO message, String sessionId, CompletableFuture<MessageDTO> done) {
+    }
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final long lingerNanos;
+    private final int maxBatch;
+    private final boolean waitForCommit;
+
+    private final BlockingQueue<Pending> queue;
+    private volatile boolean running;
+    private Thread writer;
+
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder messages = new LongAdder();
+    private final LongAdder failedMessages = new LongAdder();
+    private final LongAdder duplicateMessages = new LongAdder();
+    private final LongAdder splitRetries = new LongAdder();
+    private final AtomicLong largestBatch = new AtomicLong();
+
+    public ChatMessageBatcher(NamedParameterJdbcTemplate jdbcTemplate,
+                              TransactionTemplate transactionTemplate,
+                              SimpMessagingTemplate messagingTemplate,
+                              @Value("${chat.batch.linger-ms:5}") long lingerMs,
+                              @Value("${chat.batch.max-size:100}") int maxBatch,
+                              @Value("${chat.batch.queue-capacity:10000}") int queueCapacity,
+                              @Value("${chat.batch.wait-for-commit:true}") boolean waitForCommit) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.messagingTemplate = messagingTemplate;
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMs);
+        this.maxBatch = maxBatch;
+        this.waitForCommit = waitForCommit;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writer = new Thread(this::runLoop, "chat-message-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // 종료 시 큐에 남은 메시지까지 기록
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writer.join(COMMIT_TIMEOUT_MS);
+    }
+
+    /**
+     * 메시지 저장 요청 (sentAt/messageId 는 기록 시점에 채워짐)
+     * wait-for-commit 이면 커밋(또는 실패)까지 대기
+     */
+    public MessageDTO submit(MessageDTO message, String sessionId) {
+        Pending pending = new Pending(message, sessionId, new CompletableFuture<>());
+        if (!queue.offer(pending)) {
+            throw new IllegalStateException("채팅 메시지 대기열이 가득 찼습니다.");
+        }
+        if (!waitForCommit) return message;
+        try {
+            return pending.done().get(COMMIT_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException re ? re : new RuntimeException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("채팅 메시지 저장 시간 초과");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("채팅 메시지 저장 중 인터럽트");
+        }
+    }
+
+    public Map<String, Object> stats() {
+        long batchCount = batches.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("queueDepth", queue.size());
+        stats.put("batches", batchCount);
+        stats.put("messages", messages.sum());
+        stats.put("averageBatchSize", batchCount == 0 ? 0.0 : (double) messages.sum() / batchCount);
+        stats.put("largestBatch", largestBatch.get());
+        stats.put("failedMessages", failedMessages.sum());
+        stats.put("duplicateMessages", duplicateMessages.sum());
+        stats.put("splitRetries", splitRetries.sum());
+        stats.put("lingerMs", TimeUnit.NANOSECONDS.toMillis(lingerNanos));
+        stats.put("maxBatch", maxBatch);
+        stats.put("waitForCommit", waitForCommit);
+        return stats;
+    }
+
+    private void runLoop() {
+        List<Pending> batch = new ArrayList<>(maxBatch);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+
+                // 첫 메시지 이후 linger 동안 또는 maxBatch 까지 모음
+                long deadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < maxBatch) {
+                    if (queue.drainTo(batch, maxBatch - batch.size()) > 0) continue;
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) break;
+                    Pending next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                System.err.println("❌ 채팅 메시지 기록 루프 오류: " + e.getMessage());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<Pending> batch) {
+        boolean[] inserted;
+        try {
+            inserted = transactionTemplate.execute(status -> persist(batch));
+        } catch (Exception e) {
+            if (batch.size() > 1 && isDataError(e)) {
+                // 한 건 때문에 배치 전체가 롤백됐을 수 있음 → 반씩 나눠 순서대로 다시 기록
+                splitRetries.increment();
+                int middle = batch.size() / 2;
+                write(new ArrayList<>(batch.subList(0, middle)));
+                write(new ArrayList<>(batch.subList(middle, batch.size())));
+                return;
+            }
+            System.err.println("❌ 채팅 메시지 " + batch.size() + "건 저장 실패: " + e.getMessage());
+            batch.forEach(p -> fail(p, e));
+            return;
+        }
+
+        batches.increment();
+        messages.add(batch.size());
+        largestBatch.accumulateAndGet(batch.size(), Math::max);
+
+        // 커밋 이후 큐 순서대로 전송 (중복으로 건너뛴 메시지는 원본 ID 로 응답만 함)
+        for (int i = 0; i < batch.size(); i++) {
+            Pending pending = batch.get(i);
+            MessageDTO message = pending.message();
+            if (!inserted[i]) {
+                duplicateMessages.increment();
+                pending.done().complete(message);
+                continue;
+            }
+            try {
+                messagingTemplate.convertAndSend("/topic/chat/" + message.getChatRoomId(), message);
+            } catch (Exception e) {
+                System.err.println("❌ 채팅 메시지 전송 실패: id=" + message.getMessageId() + ", " + e.getMessage());
+            }
+            pending.done().complete(message);
+        }
+    }
+
+    // 메시지 내용 때문에 실패한 경우만 나눠서 재시도 (커넥션/자원 장애는 나눠도 결과가 같음)
+    private static boolean isDataError(Exception e) {
+        return e instanceof NonTransientDataAccessException && !(e instanceof NonTransientDataAccessResourceException);
+    }
+
+    private void fail(Pending pending, Exception cause) {
+        failedMessages.increment();
+        pending.done().completeExceptionally(cause);
+        if (waitForCommit) return; // 전송 스레드가 예외로 받음
+
+        // 이미 반환된 전송: 보낸 사람에게 실패 알림 (clientMessageId 로 어떤 메시지인지 구분)
+        if (pending.sessionId() == null) return;
+        MessageDTO message = pending.message();
+        Map<String, Object> error = new LinkedHashMap<>();
+        error.put("chatRoomId", message.getChatRoomId());
+        error.put("clientMessageId", message.getClientMessageId());
+        error.put("content", message.getContent());
+        error.put("message", "메시지를 저장하지 못했습니다.");
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        headers.setSessionId(pending.sessionId());
+        headers.setLeaveMutable(true);
+        try {
+            messagingTemplate.convertAndSendToUser(pending.sessionId(), "/queue/chat.error", error, headers.getMessageHeaders());
+        } catch (Exception e) {
+            System.err.println("❌ 채팅 전송 실패 알림 오류: " + e.getMessage());
+        }
+    }
+
+    private boolean[] persist(List<Pending> batch) {
+        List<Long> ids = new ArrayList<>(jdbcTemplate.queryForList(ALLOCATE_IDS_SQL,
+                new MapSqlParameterSource("count", batch.size()), Long.class));
+        Collections.sort(ids);
+
+        SqlParameterSource[] rows = new SqlParameterSource[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            MessageDTO message = batch.get(i).message();
+            message.setMessageId(ids.get(i));
+            message.setSentAt(LocalDateTime.now());
+            rows[i] = new MapSqlParameterSource()
+                    .addValue("messageId", message.getMessageId())
+                    .addValue("chatRoomId", message.getChatRoomId())
+                    .addValue("senderId", message.getSenderId())
+                    .addValue("content", message.getContent())
+                    .addValue("sentAt", Timestamp.valueOf(message.getSentAt()))
+                    .addValue("clientMessageId", message.getClientMessageId());
+        }
+        int[] insertCounts = jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+
+        boolean[] inserted = new boolean[batch.size()];
+        List<SqlParameterSource> insertedRows = new ArrayList<>(batch.size());
+        List<Long> insertedRoomIds = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            MessageDTO message = batch.get(i).message();
+            if (insertCounts[i] == Statement.EXECUTE_FAILED) {
+                // 롤백 → 데이터 오류로 보고 나눠서 재시도
+                throw new DataIntegrityViolationException("채팅 메시지 INSERT 실패: clientMessageId=" + message.getClientMessageId());
+            }
+            if (insertCounts[i] == Statement.SUCCESS_NO_INFO) {
+                // 드라이버가 행 수를 알려주지 않음 → 저장된 행이 이번에 할당한 ID 인지 조회 (아니면 원본 ID/시각으로 바뀜)
+                Long allocated = message.getMessageId();
+                loadOriginal(message);
+                inserted[i] = allocated.equals(message.getMessageId());
+            } else {
+                inserted[i] = insertCounts[i] == 1;
+                if (!inserted[i]) loadOriginal(message);
+            }
+            if (inserted[i]) {
+                insertedRows.add(rows[i]);
+                insertedRoomIds.add(message.getChatRoomId());
+            }
+        }
+        if (insertedRows.isEmpty()) return inserted;
+
+        // 채팅 목록 요약: 메시지 순서대로 적용 (같은 방이면 마지막 것이 last_message 로 남음)
+        int[] updated = jdbcTemplate.batchUpdate(ChatRoomSummaryRepository.APPLY_MESSAGE_SQL,
+                insertedRows.toArray(new SqlParameterSource[0]));
+        Set<Long> missingSummaries = new LinkedHashSet<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) missingSummaries.add(insertedRoomIds.get(i));
+        }
+        for (Long chatRoomId : missingSummaries) {
+            jdbcTemplate.update(ChatRoomSummaryRepository.BACKFILL_ROOM_SQL, new MapSqlParameterSource("chatRoomId", chatRoomId));
+        }
+        return inserted;
+    }
+
+    // 재전송된 메시지: 처음 저장된 행의 ID/시각으로 응답
+    private void loadOriginal(MessageDTO message) {
+        jdbcTemplate.query(FIND_ORIGINAL_SQL, new MapSqlParameterSource()
+                .addValue("chatRoomId", message.getChatRoomId())
+                .addValue("clientMessageId", message.getClientMessageId()), rs -> {
+            message.setMessageId(rs.getLong("message_id"));
+            message.setSentAt(rs.getTimestamp("sent_at").toLocalDateTime());
+        });
+    }
+}
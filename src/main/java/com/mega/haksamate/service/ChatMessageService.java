@@ -1,54 +1,112 @@
 package com.mega.haksamate.service;
 
+import com.mega.haksamate.dto.ChatHistoryResponseDTO;
+import com.mega.haksamate.dto.ChatRoomMembersDTO;
 import com.mega.haksamate.dto.MessageDTO;
-import com.mega.haksamate.entity.ChatMessage;
-import com.mega.haksamate.entity.ChatRoom;
-import com.mega.haksamate.entity.Profile;
+import com.mega.haksamate.dto.MessageResponseDTO;
 import com.mega.haksamate.repository.ChatMessageRepository;
-import com.mega.haksamate.repository.ProfileRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class ChatMessageService {
 
+    private static final int HISTORY_DEFAULT_SIZE = 30;
+    private static final int HISTORY_MAX_SIZE = 100;
+    private static final int CLIENT_MESSAGE_ID_MAX_LENGTH = 64;
+
     private final ChatMessageRepository chatMessageRepository;
-    private final ChatRoomService chatRoomService;
-    private final ProfileRepository profileRepository;
-    private final SimpMessagingTemplate messagingTemplate;
-
-    public void sendMessage(MessageDTO dto) {
-        ChatRoom chatRoom = chatRoomService.getChatRoomById(dto.getChatRoomId());
-        Profile sender = profileRepository.findById(dto.getSenderId())
-                .orElseThrow(() -> new RuntimeException("보낸 사람을 찾을 수 없습니다"));
-
-        ChatMessage message = ChatMessage.builder()
-                .chatRoom(chatRoom)
-                .sender(sender)
-                .content(dto.getContent())
-                .sentAt(LocalDateTime.now())
-                .isRead(false)
-                .build();
+    private final ChatMembershipCache chatMembershipCache;
+    private final ChatMessageBatcher chatMessageBatcher;
+    private final ChatSendDeduplicator chatSendDeduplicator;
+    private final ChatArchiveService chatArchiveService;
+
+    /**
+     * 메시지 전송: 검증 후 그룹 커밋 큐에 넣음 (저장/요약 갱신/브로드캐스트는 ChatMessageBatcher 가 처리)
+     * clientMessageId 가 같은 재전송은 저장하지 않고 처음 응답(ack)을 그대로 돌려줌
+     * sessionId 는 커밋을 기다리지 않을 때 저장 실패를 알릴 보낸 사람의 STOMP 세션
+     */
+    public MessageDTO sendMessage(MessageDTO dto, String sessionId) {
+        if (dto.getClientMessageId() != null && dto.getClientMessageId().length() > CLIENT_MESSAGE_ID_MAX_LENGTH) {
+            throw new IllegalArgumentException("clientMessageId 는 " + CLIENT_MESSAGE_ID_MAX_LENGTH + "자 이하여야 합니다.");
+        }
+        return chatSendDeduplicator.sendOnce(dto.getChatRoomId(), dto.getClientMessageId(), () -> {
+            // 캐시된 참여자 정보로 검증 + 보낸 사람 이름 (캐시가 채워져 있으면 DB 조회 없음)
+            ChatRoomMembersDTO members = chatMembershipCache.members(dto.getChatRoomId());
+            if (!members.isMember(dto.getSenderId())) {
+                throw new IllegalArgumentException("채팅방 참여자가 아닙니다.");
+            }
+
+            MessageDTO message = new MessageDTO();
+            message.setChatRoomId(members.getChatRoomId());
+            message.setSenderId(dto.getSenderId());
+            message.setSenderName(members.nameOf(dto.getSenderId()));
+            message.setContent(dto.getContent());
+            message.setClientMessageId(dto.getClientMessageId());
+            return chatMessageBatcher.submit(message, sessionId);
+        });
+    }
 
-        ChatMessage saved = chatMessageRepository.save(message);
+    public List<MessageResponseDTO> getMessagesByChatRoom(Long chatRoomId) {
+        return chatArchiveService.mergeAll(chatRoomId, chatMessageRepository.findAllProjectedByChatRoomId(chatRoomId));
+    }
 
-        // ✅ sentAt 포함된 DTO로 새로 구성해서 전송
-        MessageDTO responseDTO = new MessageDTO();
-        responseDTO.setChatRoomId(saved.getChatRoom().getChatRoomId());
-        responseDTO.setSenderId(saved.getSender().getId());
-        responseDTO.setContent(saved.getContent());
-        responseDTO.setSentAt(saved.getSentAt()); // ✅ 이게 중요
+    /**
+     * 이전 메시지 페이지 (커서가 없으면 최신 페이지)
+     * 한 건 더 조회해서 hasMore 를 판단하고, 응답은 오래된 순으로 뒤집어서 돌려줌
+     * 남은 메시지로 페이지가 안 차면 보관 파일에서 이어서 채움
+     */
+    public ChatHistoryResponseDTO getHistory(Long chatRoomId, LocalDateTime cursorSentAt, Long cursorId, Integer size) {
+        if (cursorSentAt != null && cursorId == null) {
+            cursorId = Long.MAX_VALUE;
+        }
+        int pageSize = pageSize(size);
+        List<MessageResponseDTO> live = chatMessageRepository.findHistory(
+                chatRoomId, cursorSentAt, cursorId, PageRequest.of(0, pageSize + 1));
+        List<MessageResponseDTO> rows = new ArrayList<>(
+                chatArchiveService.mergeBefore(chatRoomId, live, cursorSentAt, cursorId, pageSize + 1));
+        boolean hasMore = rows.size() > pageSize;
+        if (hasMore) rows.remove(rows.size() - 1);
+        Collections.reverse(rows);
 
-        messagingTemplate.convertAndSend("/topic/chat/" + dto.getChatRoomId(), responseDTO);
+        MessageResponseDTO oldest = rows.isEmpty() ? null : rows.get(0);
+        return ChatHistoryResponseDTO.builder()
+                .messages(rows)
+                .hasMore(hasMore)
+                .cursorSentAt(oldest != null ? oldest.getSentAt() : cursorSentAt)
+                .cursorId(oldest != null ? oldest.getMessageId() : cursorId)
+                .build();
     }
 
+    /**
+     * 재연결한 클라이언트용: 마지막으로 받은 메시지 ID 이후만
+     */
+    public ChatHistoryResponseDTO getMessagesAfter(Long chatRoomId, long afterId, Integer size) {
+        int pageSize = pageSize(size);
+        List<MessageResponseDTO> live = chatMessageRepository.findAfter(
+                chatRoomId, afterId, PageRequest.of(0, pageSize + 1));
+        List<MessageResponseDTO> rows = new ArrayList<>(
+                chatArchiveService.mergeAfter(chatRoomId, live, afterId, pageSize + 1));
+        boolean hasMore = rows.size() > pageSize;
+        if (hasMore) rows.remove(rows.size() - 1);
+
+        MessageResponseDTO latest = rows.isEmpty() ? null : rows.get(rows.size() - 1);
+        return ChatHistoryResponseDTO.builder()
+                .messages(rows)
+                .hasMore(hasMore)
+                .cursorSentAt(latest != null ? latest.getSentAt() : null)
+                .cursorId(latest != null ? latest.getMessageId() : afterId)
+                .build();
+    }
 
-    public List<ChatMessage> getMessagesByChatRoom(Long chatRoomId) {
-        return chatMessageRepository.findByChatRoom_ChatRoomIdOrderBySentAtAsc(chatRoomId);
+    private static int pageSize(Integer size) {
+        return (size == null || size <= 0) ? HISTORY_DEFAULT_SIZE : Math.min(size, HISTORY_MAX_SIZE);
     }
 }
@@ -1,20 +1,31 @@
 package com.mega.haksamate.service;
 
+import com.mega.haksamate.dto.ChatReadDTO;
 import com.mega.haksamate.dto.ChatRoomResponseDTO;
 import com.mega.haksamate.dto.ChatRoomWithLastMessageDTO;
-import com.mega.haksamate.entity.ChatMessage;
+import com.mega.haksamate.dto.ProfileSummaryDTO;
 import com.mega.haksamate.entity.ChatRoom;
-import com.mega.haksamate.entity.Profile;
+import com.mega.haksamate.entity.ChatRoomSummary;
+import com.mega.haksamate.event.ChatReadEvent;
+import com.mega.haksamate.event.ChatRoomDeletedEvent;
 import com.mega.haksamate.repository.ChatMessageRepository;
+import com.mega.haksamate.repository.ChatReadWatermarkRepository;
 import com.mega.haksamate.repository.ChatRoomRepository;
+import com.mega.haksamate.repository.ChatRoomSummaryRepository;
 import com.mega.haksamate.repository.ProfileRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -23,67 +34,78 @@ public class ChatRoomService {
     private final ChatMessageRepository chatMessageRepository;
     private final ChatRoomRepository chatRoomRepository;
     private final ProfileRepository profileRepository;
+    private final ChatRoomSummaryRepository chatRoomSummaryRepository;
+    private final ChatReadWatermarkRepository chatReadWatermarkRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ChatMembershipCache chatMembershipCache;
+    private final ProfileSummaryCache profileSummaryCache;
+
+    // 요약 테이블 도입 이전에 만들어진 채팅방을 한 번에 채움
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillSummaries() {
+        try {
+            Integer inserted = transactionTemplate.execute(status -> chatRoomSummaryRepository.backfillMissing());
+            System.out.println("💬 채팅방 요약 초기화 완료: " + inserted + "건 추가");
+        } catch (Exception e) {
+            System.err.println("❌ 채팅방 요약 초기화 실패: " + e.getMessage());
+        }
+    }
 
     /**
      * 1:1 채팅방 생성(이미 존재하면 반환)
      */
+    @Transactional
     public ChatRoomResponseDTO createChatRoom(UUID chatusr1Id, UUID chatusr2Id) {
         // 1. 두 사람이 이미 참여중인 방이 있는지 먼저 검색 (순서 상관없이)
+        // 이름은 프로필 요약 캐시에서 (없는 사용자면 예외)
+        ProfileSummaryDTO user1 = profileSummary(chatusr1Id, "user1 정보를 찾을 수 없습니다.");
+        ProfileSummaryDTO user2 = profileSummary(chatusr2Id, "user2 정보를 찾을 수 없습니다.");
         ChatRoom room = chatRoomRepository
                 .findByChatUsr1Id_IdAndChatUsr2Id_Id(chatusr1Id, chatusr2Id)
                 .orElseGet(() -> {
-                    Profile user1 = profileRepository.findById(chatusr1Id)
-                            .orElseThrow(() -> new RuntimeException("user1 정보를 찾을 수 없습니다."));
-                    Profile user2 = profileRepository.findById(chatusr2Id)
-                            .orElseThrow(() -> new RuntimeException("user2 정보를 찾을 수 없습니다."));
-                    return chatRoomRepository.save(ChatRoom.builder()
-                            .chatUsr1Id(user1)
-                            .chatUsr2Id(user2)
+                    ChatRoom created = chatRoomRepository.save(ChatRoom.builder()
+                            .chatUsr1Id(profileRepository.getReferenceById(user1.getId()))
+                            .chatUsr2Id(profileRepository.getReferenceById(user2.getId()))
                             .createdAt(System.currentTimeMillis())
                             .build());
+                    chatRoomSummaryRepository.save(ChatRoomSummary.builder()
+                            .chatRoomId(created.getChatRoomId())
+                            .user1Id(user1.getId())
+                            .user2Id(user2.getId())
+                            .roomCreatedAt(created.getCreatedAt())
+                            .build());
+                    return created;
                 });
 
         return new ChatRoomResponseDTO(
                 room.getChatRoomId(),
-                room.getChatUsr1Id().getId(),
-                room.getChatUsr1Id().getName(),
-                room.getChatUsr2Id().getName(),
-                room.getChatUsr2Id().getId(),
+                user1.getId(),
+                user1.getName(),
+                user2.getName(),
+                user2.getId(),
                 room.getCreatedAt()
 
         );
     }
 
+    private ProfileSummaryDTO profileSummary(UUID profileId, String notFoundMessage) {
+        try {
+            return profileSummaryCache.get(profileId);
+        } catch (NoSuchElementException e) {
+            throw new RuntimeException(notFoundMessage);
+        }
+    }
+
     /**
      * 유저가 참여중인 모든 채팅방 조회
+     * chat_room_summary 한 번 조회로 마지막 메시지/안읽은 수까지 가져옴 (방 개수와 무관)
      */
     public List<ChatRoomWithLastMessageDTO> getChatRoomsByUser(UUID userId) {
-        // user1, user2 둘 중 하나로 참여한 모든 방 검색
-        List<ChatRoom> rooms = chatRoomRepository.findByChatUsr1Id_IdOrChatUsr2Id_Id(userId, userId);
-
-        return rooms.stream()
-                .map(room -> {
-                    // 1. 해당 채팅방의 최신 메시지 1건 조회 (없으면 null)
-                    ChatMessage lastMessage = chatMessageRepository.findTop1ByChatRoomOrderBySentAtDesc(room);
-                    // unreadCount
-                    int unreadCount = chatMessageRepository.countUnreadByChatRoomAndUser(room.getChatRoomId(), userId);
-
-                    return new ChatRoomWithLastMessageDTO(
-                            room.getChatRoomId(),
-                            room.getChatUsr1Id().getId(),
-                            room.getChatUsr1Id().getName(),
-                            room.getChatUsr2Id().getName(),
-                            room.getChatUsr2Id().getId(),
-                            room.getCreatedAt(),
-                            lastMessage != null ? lastMessage.getContent() : null,
-                            lastMessage != null && lastMessage.getSentAt() != null
-                                    ? lastMessage.getSentAt().toEpochSecond(java.time.ZoneOffset.UTC)
-                                    : null,
-                            unreadCount
-                    );
-                })
-                .collect(Collectors.toList());
+        return chatRoomSummaryRepository.findInbox(userId);
     }
+
     /**
      * 단일 채팅방 상세 조회
      */
@@ -101,6 +123,65 @@ public class ChatRoomService {
                 .orElseThrow(() -> new RuntimeException("채팅방을 찾을 수 없습니다."));
         // 메시지 모두 삭제
         chatMessageRepository.deleteAllByChatRoom_ChatRoomId(chatRoomId);
+        chatRoomSummaryRepository.deleteByChatRoomId(chatRoomId);
+        chatReadWatermarkRepository.deleteByChatRoomId(chatRoomId);
         chatRoomRepository.delete(chatRoom);
+        eventPublisher.publishEvent(new ChatRoomDeletedEvent(chatRoomId));
+    }
+
+    /**
+     * 읽음 처리: 읽음 위치를 lastReadMessageId(없거나 더 크면 현재 마지막 메시지)까지 전진
+     * 전진했을 때만 안읽은 수를 다시 계산하고, 커밋 후 상대에게 읽음 확인을 보냄
+     */
+    @Transactional
+    public ChatReadDTO markReadUpTo(Long chatRoomId, UUID userId, Long lastReadMessageId) {
+        if (!chatMembershipCache.members(chatRoomId).isMember(userId)) {
+            throw new IllegalArgumentException("채팅방 참여자가 아닙니다.");
+        }
+        Long last = chatRoomSummaryRepository.findLastMessageId(chatRoomId);
+        if (last == null) {
+            return new ChatReadDTO(chatRoomId, userId, null); // 메시지 없음
+        }
+
+        // 마지막 메시지보다 뒤로는 전진하지 않음 (미래 ID 로 이후 메시지가 모두 읽음 처리되는 것 방지)
+        Long upTo = last;
+        if (lastReadMessageId != null && lastReadMessageId < last) {
+            if (lastReadMessageId <= 0) {
+                throw new IllegalArgumentException("유효하지 않은 메시지 ID 입니다: " + lastReadMessageId);
+            }
+            // 다른 채팅방 메시지는 거부 (보관되어 조회되지 않는 옛 메시지는 이 방의 범위 안이므로 허용)
+            Long messageRoomId = chatMessageRepository.findChatRoomIdByMessageId(lastReadMessageId).orElse(chatRoomId);
+            if (!messageRoomId.equals(chatRoomId)) {
+                throw new IllegalArgumentException("이 채팅방의 메시지가 아닙니다: " + lastReadMessageId);
+            }
+            upTo = lastReadMessageId;
+        }
+
+        if (chatReadWatermarkRepository.advance(chatRoomId, userId, upTo) > 0) {
+            if (chatRoomSummaryRepository.recountUnread(chatRoomId, userId, upTo) == 0) {
+                chatRoomSummaryRepository.backfillRoom(chatRoomId);
+            }
+            eventPublisher.publishEvent(new ChatReadEvent(chatRoomId, userId, upTo));
+        }
+        return new ChatReadDTO(chatRoomId, userId, upTo);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRead(ChatReadEvent event) {
+        try {
+            messagingTemplate.convertAndSend("/topic/chat/" + event.chatRoomId() + "/read",
+                    new ChatReadDTO(event.chatRoomId(), event.userId(), event.lastReadMessageId()));
+        } catch (Exception e) {
+            System.err.println("❌ 읽음 확인 전송 실패: room=" + event.chatRoomId() + ", " + e.getMessage());
+        }
+    }
+
+    /**
+     * 채팅방 참여자별 읽음 위치 (입장 시 상대가 어디까지 읽었는지 표시용)
+     */
+    public List<ChatReadDTO> getReadWatermarks(Long chatRoomId) {
+        return chatReadWatermarkRepository.findByChatRoomId(chatRoomId).stream()
+                .map(w -> new ChatReadDTO(w.getChatRoomId(), w.getUserId(), w.getLastReadMessageId()))
+                .toList();
     }
 }
@@ -0,0 +1,131 @@
+package com.mega.haksamate.service;
+
+import com.mega.haksamate.dto.MessageDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 채팅 전송 중복 제거 (클라이언트 메시지 ID 기준)
+ * 채팅방마다 최근 window-seconds 동안, 최대 per-room 개의 clientMessageId → 저장된 결과(ack)를 보관해서
+ * 타임아웃 후 재전송된 프레임은 DB 에 가기 전에 처음 결과를 그대로 돌려준다.
+ * 처리 중인 원본이 있으면 그 결과를 기다리고, 원본이 실패했으면 재전송을 새로 처리한다.
+ * 창을 벗어난 재전송은 chat_message 의 (chatroomid, client_message_id) 유니크 제약이 막는다.
+ */
+@Component
+public class ChatSendDeduplicator {
+
+    private record Entry(CompletableFuture<MessageDTO> ack, long createdAt) {
+    }
+
+    private final long windowNanos;
+    private final int maxPerRoom;
+    private final ConcurrentHashMap<Long, LinkedHashMap<String, Entry>> rooms = new ConcurrentHashMap<>();
+
+    private final LongAdder duplicates = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ChatSendDeduplicator(@Value("${chat.dedup.window-seconds:120}") long windowSeconds,
+                                @Value("${chat.dedup.per-room:256}") int maxPerRoom) {
+        this.windowNanos = windowSeconds * 1_000_000_000L;
+        this.maxPerRoom = maxPerRoom;
+    }
+
+    public MessageDTO sendOnce(Long chatRoomId, String clientMessageId, Supplier<MessageDTO> send) {
+        if (clientMessageId == null || clientMessageId.isBlank()) return send.get();
+
+        LinkedHashMap<String, Entry> window = rooms.computeIfAbsent(chatRoomId, id -> new LinkedHashMap<>());
+        CompletableFuture<MessageDTO> own = new CompletableFuture<>();
+        Entry existing;
+        synchronized (window) {
+            expire(window, System.nanoTime());
+            existing = window.get(clientMessageId);
+            if (existing == null) {
+                window.put(clientMessageId, new Entry(own, System.nanoTime()));
+                if (window.size() > maxPerRoom) {
+                    Iterator<String> eldest = window.keySet().iterator();
+                    eldest.next();
+                    eldest.remove();
+                    evictions.increment();
+                }
+            }
+        }
+
+        if (existing != null) {
+            duplicates.increment();
+            try {
+                return existing.ack().join();
+            } catch (CompletionException e) {
+                // 원본 처리가 실패했으므로 재전송을 새로 처리 (실패한 항목은 원본 쪽에서 제거됨)
+                return sendOnce(chatRoomId, clientMessageId, send);
+            }
+        }
+
+        try {
+            MessageDTO ack = send.get();
+            if (ack == null || ack.getMessageId() == null) {
+                // 커밋을 기다리지 않은 응답(wait-for-commit=false)은 저장 결과가 아니므로 보관하지 않음
+                // → 재전송은 다시 처리되고 DB 유니크 제약이 중복 저장을 막음
+                synchronized (window) {
+                    Entry current = window.get(clientMessageId);
+                    if (current != null && current.ack() == own) window.remove(clientMessageId);
+                }
+            }
+            own.complete(ack);
+            return ack;
+        } catch (RuntimeException e) {
+            synchronized (window) {
+                window.remove(clientMessageId);
+            }
+            own.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    // 만료된 항목 정리, 빈 채팅방 창은 제거
+    @Scheduled(fixedDelayString = "${chat.dedup.sweep-interval-ms:60000}")
+    public void sweep() {
+        long now = System.nanoTime();
+        for (Long chatRoomId : rooms.keySet()) {
+            rooms.computeIfPresent(chatRoomId, (id, window) -> {
+                synchronized (window) {
+                    expire(window, now);
+                    return window.isEmpty() ? null : window;
+                }
+            });
+        }
+    }
+
+    public Map<String, Object> stats() {
+        int tracked = 0;
+        for (LinkedHashMap<String, Entry> window : rooms.values()) {
+            synchronized (window) {
+                tracked += window.size();
+            }
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("rooms", rooms.size());
+        stats.put("trackedIds", tracked);
+        stats.put("duplicates", duplicates.sum());
+        stats.put("evictions", evictions.sum());
+        return stats;
+    }
+
+    // 삽입 순서 = 시간 순이므로 앞에서부터 만료된 것만 제거
+    private void expire(LinkedHashMap<String, Entry> window, long now) {
+        Iterator<Entry> iterator = window.values().iterator();
+        while (iterator.hasNext()) {
+            if (now - iterator.next().createdAt() < windowNanos) break;
+            iterator.remove();
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package com.mega.haksamate.service;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+import org.springframework.web.util.UriUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * /uploads/** 이미지 서빙 (HTTP 캐시 + Range + 제로카피 전송)
+ * - 해시 파일명(원본/썸네일/중간 크기)은 내용이 바뀌지 않으므로 1년 immutable 캐시, ETag = 해시
+ * - 예전 방식 파일명은 no-cache + 크기/수정시각 기반 ETag 로 매번 재검증(304)
+ * - Tomcat sendfile 을 지원하면 커널이 직접 전송하고, 아니면 FileChannel.transferTo 로 전송
+ */
+@Service
+public class ImageDeliveryService {
+
+    private static final String URL_PREFIX = "/uploads/";
+    private static final String IMMUTABLE_CACHE_CONTROL = "public, max-age=31536000, immutable";
+    private static final String REVALIDATE_CACHE_CONTROL = "no-cache";
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final Path uploadRoot = Paths.get(ImageStorageService.UPLOAD_DIR).toAbsolutePath().normalize();
+    // 이전 WebConfig 리소스 핸들러가 보던 위치 (기존 파일 호환용)
+    private final Path legacyRoot = Paths.get(System.getProperty("user.dir"), "uploads").toAbsolutePath().normalize();
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder notModified = new LongAdder();
+    private final LongAdder fullResponses = new LongAdder();
+    private final LongAdder partialResponses = new LongAdder();
+    private final LongAdder rangeNotSatisfiable = new LongAdder();
+    private final LongAdder notFound = new LongAdder();
+    private final LongAdder sendfileResponses = new LongAdder();
+    private final LongAdder bytesServed = new LongAdder();
+    private final LongAdder bytesSaved = new LongAdder();
+
+    // 단일 구간 "bytes=a-b", "bytes=a-", "bytes=-n" (여러 구간/다른 단위는 문법상 지원 대상 아님)
+    private static final Pattern SINGLE_BYTE_RANGE = Pattern.compile(
+            "^bytes\\s*=\\s*(\\d*)\\s*-\\s*(\\d*)\\s*$", Pattern.CASE_INSENSITIVE);
+
+    // 문법은 맞지만 파일 크기로 만족시킬 수 없는 구간 → 416
+    static final ByteRange UNSATISFIABLE = new ByteRange(-1, -2);
+
+    record ByteRange(long start, long end) {
+        long length() {
+            return end - start + 1;
+        }
+    }
+
+    public void serve(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        requests.increment();
+
+        Path file = resolve(request);
+        BasicFileAttributes attributes = file != null ? readAttributes(file) : null;
+        if (attributes == null || !attributes.isRegularFile()) {
+            notFound.increment();
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        String filename = file.getFileName().toString();
+        long size = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        String etag = etagOf(filename, size, lastModified);
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, isImmutable(filename) ? IMMUTABLE_CACHE_CONTROL : REVALIDATE_CACHE_CONTROL);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader("X-Content-Type-Options", "nosniff");
+
+        if (isNotModified(request, etag, lastModified)) {
+            notModified.increment();
+            bytesSaved.add(size);
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        String contentType = request.getServletContext().getMimeType(filename);
+        response.setContentType(contentType != null ? contentType : "application/octet-stream");
+
+        ByteRange range = null;
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader != null && ifRangeMatches(request, etag, lastModified)) {
+            range = parseRange(rangeHeader, size);
+            if (range == UNSATISFIABLE) {
+                rangeNotSatisfiable.increment();
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+        }
+
+        if (range != null) {
+            partialResponses.increment();
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + range.start() + "-" + range.end() + "/" + size);
+        } else {
+            // 범위 요청이 없거나, 문법이 틀렸거나, 여러 구간이면 무시하고 전체 전송 (RFC 상 허용)
+            fullResponses.increment();
+            range = new ByteRange(0, size - 1);
+            response.setStatus(HttpServletResponse.SC_OK);
+        }
+        response.setContentLengthLong(range.length());
+
+        if ("HEAD".equals(request.getMethod()) || range.length() <= 0) return;
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // 응답 본문은 Tomcat 이 파일에서 소켓으로 직접 전송
+            request.setAttribute(SENDFILE_FILENAME, file.toString());
+            request.setAttribute(SENDFILE_START, range.start());
+            request.setAttribute(SENDFILE_END, range.end() + 1);
+            sendfileResponses.increment();
+            bytesServed.add(range.length());
+            return;
+        }
+
+        transfer(file, range, response.getOutputStream());
+    }
+
+    public Map<String, Object> stats() {
+        long total = requests.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("requests", total);
+        stats.put("notModified", notModified.sum());
+        stats.put("cacheHitRate", total == 0 ? 0.0 : (double) notModified.sum() / total);
+        stats.put("fullResponses", fullResponses.sum());
+        stats.put("partialResponses", partialResponses.sum());
+        stats.put("rangeNotSatisfiable", rangeNotSatisfiable.sum());
+        stats.put("notFound", notFound.sum());
+        stats.put("sendfileResponses", sendfileResponses.sum());
+        stats.put("bytesServed", bytesServed.sum());
+        stats.put("bytesSaved", bytesSaved.sum());
+        return stats;
+    }
+
+    // 요청 경로 → 실제 파일 (업로드 폴더 밖이나 숨김 경로(.staging, .tmp)는 거부)
+    private Path resolve(HttpServletRequest request) {
+        String uri = request.getRequestURI().substring(request.getContextPath().length());
+        if (!uri.startsWith(URL_PREFIX)) return null;
+        String relative = UriUtils.decode(uri.substring(URL_PREFIX.length()), StandardCharsets.UTF_8);
+        if (relative.isEmpty() || relative.contains("\\") || relative.contains("\0")) return null;
+        for (String segment : relative.split("/")) {
+            if (segment.isEmpty() || segment.startsWith(".")) return null;
+        }
+
+        Path candidate = uploadRoot.resolve(relative).normalize();
+        if (!candidate.startsWith(uploadRoot)) return null;
+        if (Files.isRegularFile(candidate)) return candidate;
+
+        Path legacy = legacyRoot.resolve(relative).normalize();
+        if (legacy.startsWith(legacyRoot) && Files.isRegularFile(legacy)) return legacy;
+        return candidate;
+    }
+
+    private static BasicFileAttributes readAttributes(Path file) {
+        try {
+            return Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    // 썸네일(thumb_<해시>)/중간 크기(medium_<해시>)도 원본 해시에서 결정되므로 불변
+    private static boolean isImmutable(String filename) {
+        return ImageStorageService.isContentAddressed(stripVariantPrefix(filename));
+    }
+
+    private static String stripVariantPrefix(String filename) {
+        if (filename.startsWith("thumb_")) return filename.substring("thumb_".length());
+        if (filename.startsWith("medium_")) return filename.substring("medium_".length());
+        return filename;
+    }
+
+    private static String etagOf(String filename, long size, long lastModified) {
+        if (isImmutable(filename)) {
+            int dot = filename.lastIndexOf(".");
+            return "\"" + (dot > 0 ? filename.substring(0, dot) : filename) + "\"";
+        }
+        return "\"" + Long.toHexString(size) + "-" + Long.toHexString(lastModified) + "\"";
+    }
+
+    // If-None-Match 가 있으면 그것만 보고, 없을 때만 If-Modified-Since 비교
+    private static boolean isNotModified(HttpServletRequest request, String etag, long lastModified) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.startsWith("W/")) tag = tag.substring(2);
+                if (tag.equals("*") || tag.equals(etag)) return true;
+            }
+            return false;
+        }
+        long ifModifiedSince = dateHeader(request, HttpHeaders.IF_MODIFIED_SINCE);
+        return ifModifiedSince >= 0 && lastModified / 1000 <= ifModifiedSince / 1000;
+    }
+
+    // If-Range 가 현재 버전과 다르면 Range 를 무시하고 전체 전송
+    private static boolean ifRangeMatches(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) return true;
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) return ifRange.equals(etag);
+        long date = dateHeader(request, HttpHeaders.IF_RANGE);
+        return date >= 0 && lastModified / 1000 == date / 1000;
+    }
+
+    private static long dateHeader(HttpServletRequest request, String name) {
+        try {
+            return request.getDateHeader(name);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Range 헤더 해석
+     * @return 전송할 구간, 문법이 틀렸거나 지원하지 않는 형식이면 null(무시 → 200 전체 전송),
+     *         문법은 맞지만 범위 밖이면 UNSATISFIABLE(416)
+     */
+    static ByteRange parseRange(String header, long size) {
+        Matcher matcher = SINGLE_BYTE_RANGE.matcher(header.trim());
+        if (!matcher.matches()) return null;
+        String first = matcher.group(1);
+        String last = matcher.group(2);
+        if (first.isEmpty() && last.isEmpty()) return null;
+
+        if (first.isEmpty()) {
+            // 마지막 n 바이트: 0 바이트 요청이나 빈 파일은 만족시킬 수 없음
+            long suffix = parseDigits(last);
+            if (suffix == 0 || size == 0) return UNSATISFIABLE;
+            return new ByteRange(Math.max(0, size - suffix), size - 1);
+        }
+
+        long start = parseDigits(first);
+        long end = last.isEmpty() ? Long.MAX_VALUE : parseDigits(last);
+        if (end < start) return null; // 끝이 시작보다 앞이면 문법 오류로 보고 무시
+        if (start >= size) return UNSATISFIABLE;
+        return new ByteRange(start, Math.min(end, size - 1));
+    }
+
+    // 숫자만 들어온다는 것은 정규식이 보장, long 을 넘는 값은 "아주 큰 값"으로 취급
+    private static long parseDigits(String digits) {
+        try {
+            return Long.parseLong(digits);
+        } catch (NumberFormatException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private void transfer(Path file, ByteRange range, OutputStream out) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(out);
+            long position = range.start();
+            long remaining = range.length();
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, target);
+                if (sent <= 0) break; // 전송 중 파일이 잘린 경우
+                position += sent;
+                remaining -= sent;
+                bytesServed.add(sent);
+            }
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.mega.haksamate.service;
+
+import com.mega.haksamate.entity.ImageDeletionTask;
+import com.mega.haksamate.repository.ImageDeletionTaskRepository;
+import com.mega.haksamate.repository.ItemImageRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 이미지 파일 GC
+ * 1) 삭제 대기열(image_deletion_queue): 행 삭제와 같은 트랜잭션에서 적재된 경로를 주기적으로 비움, 실패 시 백오프 후 재시도
+ * 2) 정합성 스캔: 업로드 폴더를 스트리밍으로 읽어 SCAN_BATCH 개씩 item_images.photo_path 와 비교하고,
+ *    유예 시간이 지난 고아 파일(원본/썸네일/중간 크기/스테이징 잔여물)을 삭제한다. 메모리 사용량은 배치 크기로 제한된다.
+ *    참조가 없어 보이는 경로는 ImageStorageService.releaseOrphan 으로 넘겨 경로 잠금 안에서 다시 확인한 뒤 지운다.
+ */
+@Component
+public class ImageGarbageCollector {
+
+    private static final int DRAIN_BATCH = 100;
+    private static final int MAX_DRAIN_ROUNDS = 50;
+    private static final int SCAN_BATCH = 500;
+    private static final long MAX_BACKOFF_MINUTES = 60;
+
+    private final ImageDeletionTaskRepository deletionTaskRepository;
+    private final ItemImageRepository itemImageRepository;
+    private final ImageStorageService imageStorageService;
+    private final long orphanGraceMillis;
+
+    private final LongAdder drained = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    private final LongAdder orphansRemoved = new LongAdder();
+    private final LongAdder stagingRemoved = new LongAdder();
+    private final AtomicLong lastScanFiles = new AtomicLong();
+    private final AtomicLong lastScanMillis = new AtomicLong();
+
+    public ImageGarbageCollector(ImageDeletionTaskRepository deletionTaskRepository,
+                                 ItemImageRepository itemImageRepository,
+                                 ImageStorageService imageStorageService,
+                                 @Value("${image.gc.orphan-grace-minutes:60}") long orphanGraceMinutes) {
+        this.deletionTaskRepository = deletionTaskRepository;
+        this.itemImageRepository = itemImageRepository;
+        this.imageStorageService = imageStorageService;
+        this.orphanGraceMillis = orphanGraceMinutes * 60_000L;
+    }
+
+    public void enqueue(Collection<String> photoPaths) {
+        if (photoPaths == null || photoPaths.isEmpty()) return;
+        deletionTaskRepository.saveAll(photoPaths.stream()
+                .distinct()
+                .map(ImageDeletionTask::of)
+                .toList());
+    }
+
+    @Scheduled(fixedDelayString = "${image.gc.drain-interval-ms:10000}",
+            initialDelayString = "${image.gc.drain-initial-delay-ms:10000}")
+    public void drainQueue() {
+        for (int round = 0; round < MAX_DRAIN_ROUNDS; round++) {
+            List<ImageDeletionTask> tasks = deletionTaskRepository.findDue(LocalDateTime.now(), PageRequest.of(0, DRAIN_BATCH));
+            for (ImageDeletionTask task : tasks) {
+                if (imageStorageService.releaseIfUnreferenced(task.getPhotoPath())) {
+                    deletionTaskRepository.delete(task);
+                    drained.increment();
+                } else {
+                    task.setAttempts(task.getAttempts() + 1);
+                    long backoff = Math.min(MAX_BACKOFF_MINUTES, 1L << Math.min(task.getAttempts(), 6));
+                    task.setNextAttemptAt(LocalDateTime.now().plusMinutes(backoff));
+                    deletionTaskRepository.save(task);
+                    retried.increment();
+                }
+            }
+            if (tasks.size() < DRAIN_BATCH) return;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${image.gc.reconcile-interval-ms:3600000}",
+            initialDelayString = "${image.gc.reconcile-initial-delay-ms:300000}")
+    public void reconcile() {
+        long start = System.currentTimeMillis();
+        long cutoff = start - orphanGraceMillis;
+        long scanned = 0;
+        try {
+            scanned += scan(Paths.get(ImageStorageService.UPLOAD_DIR), "", cutoff);
+            scanned += scan(Paths.get(ImageVariantService.THUMBNAIL_DIR), "thumb_", cutoff);
+            scanned += scan(Paths.get(ImageVariantService.MEDIUM_DIR), "medium_", cutoff);
+            cleanStaging(cutoff);
+            System.out.println("🧹 이미지 정합성 스캔 완료: " + scanned + "개 확인");
+        } catch (Exception e) {
+            System.err.println("❌ 이미지 정합성 스캔 실패: " + e.getMessage());
+        } finally {
+            lastScanFiles.set(scanned);
+            lastScanMillis.set(System.currentTimeMillis() - start);
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("queueDepth", deletionTaskRepository.count());
+        stats.put("drained", drained.sum());
+        stats.put("retried", retried.sum());
+        stats.put("orphansRemoved", orphansRemoved.sum());
+        stats.put("stagingRemoved", stagingRemoved.sum());
+        stats.put("lastScanFiles", lastScanFiles.get());
+        stats.put("lastScanMillis", lastScanMillis.get());
+        return stats;
+    }
+
+    // 디렉터리를 한 항목씩 읽으면서 SCAN_BATCH 개 단위로 참조 여부 확인 (변환 파일은 접두어를 떼고 원본 경로로 비교)
+    long scan(Path dir, String variantPrefix, long cutoff) throws IOException {
+        if (!Files.isDirectory(dir)) return 0;
+        long scanned = 0;
+        Set<String> batch = new LinkedHashSet<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, Files::isRegularFile)) {
+            for (Path file : stream) {
+                String name = file.getFileName().toString();
+                if (name.startsWith(".")) continue;
+                scanned++;
+                if (modifiedAfter(file, cutoff)) continue; // 방금 쓰인 파일은 커밋 전일 수 있음
+
+                if (name.endsWith(".tmp") || !name.startsWith(variantPrefix)) {
+                    // 변환 중 남은 임시 파일 등
+                    deleteOrphan(file);
+                    continue;
+                }
+                batch.add("/uploads/" + name.substring(variantPrefix.length()));
+                if (batch.size() >= SCAN_BATCH) {
+                    removeUnreferenced(batch, cutoff);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) removeUnreferenced(batch, cutoff);
+        return scanned;
+    }
+
+    // 배치 조회는 후보를 좁히는 용도, 실제 삭제는 경로 잠금 안에서 참조/수정 시각을 다시 확인하고 변환 파일까지 함께
+    private void removeUnreferenced(Set<String> photoPaths, long cutoff) {
+        Set<String> referenced = new HashSet<>(itemImageRepository.findReferencedPhotoPaths(photoPaths));
+        for (String photoPath : photoPaths) {
+            if (referenced.contains(photoPath)) continue;
+            if (imageStorageService.releaseOrphan(photoPath, cutoff)) {
+                orphansRemoved.increment();
+                System.out.println("🗑️ 고아 이미지 삭제: " + photoPath);
+            }
+        }
+    }
+
+    private static boolean modifiedAfter(Path file, long cutoff) throws IOException {
+        try {
+            return Files.getLastModifiedTime(file).toMillis() > cutoff;
+        } catch (NoSuchFileException e) {
+            return true; // 앞선 삭제로 이미 사라진 변환 파일
+        }
+    }
+
+    private void deleteOrphan(Path file) {
+        try {
+            if (Files.deleteIfExists(file)) {
+                orphansRemoved.increment();
+                System.out.println("🗑️ 고아 이미지 삭제: " + file.getFileName());
+            }
+        } catch (IOException e) {
+            System.err.println("❌ 고아 이미지 삭제 실패: " + file.getFileName() + ", " + e.getMessage());
+        }
+    }
+
+    // 실패한 업로드가 남긴 스테이징 파일
+    private void cleanStaging(long cutoff) throws IOException {
+        Path staging = Paths.get(ImageStorageService.STAGING_DIR);
+        if (!Files.isDirectory(staging)) return;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(staging, Files::isRegularFile)) {
+            for (Path file : stream) {
+                if (Files.getLastModifiedTime(file).toMillis() > cutoff) continue;
+                if (Files.deleteIfExists(file)) stagingRemoved.increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.mega.haksamate.service;
+
+import com.mega.haksamate.repository.ItemImageRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * 내용 주소 기반(content-addressed) 이미지 저장소
+ * 파일명 = 업로드 바이트의 SHA-256 + 확장자 → 같은 사진은 디스크에 한 번만 저장되고 URL 은 불변이다.
+ * 참조 카운트는 같은 photo_path 를 가진 ItemImage 행 수로 계산한다.
+ * 같은 경로의 이동(promote)과 삭제(releaseIfUnreferenced/releaseOrphan)는 경로별 advisory lock 으로 직렬화한다.
+ */
+@Service
+public class ImageStorageService {
+
+    static final String UPLOAD_DIR = "./frontend/public/uploads";
+    static final String STAGING_DIR = "./frontend/public/uploads/.staging";
+
+    private static final Pattern CONTENT_ADDRESSED_NAME = Pattern.compile("^[0-9a-f]{64}(\\.[a-z0-9]{1,5})?$");
+    private static final Pattern SAFE_EXTENSION = Pattern.compile("^\\.[a-z0-9]{1,5}$");
+
+    private final ItemImageRepository itemImageRepository;
+    private final ImageVariantService imageVariantService;
+    private final TransactionTemplate transactionTemplate;
+    private final Path uploadDir;
+    private final Path stagingDir;
+
+    private final LongAdder storedFiles = new LongAdder();
+    private final LongAdder deduplicatedFiles = new LongAdder();
+
+    // 스테이징된 업로드: 임시 파일 + 행에 기록할 최종 경로
+    public record StagedImage(Path stagedFile, String photoPath) {
+    }
+
+    // 잠금 안 확인 결과: 유지(참조 중이거나 최근에 쓰임) / 삭제 / 삭제 실패
+    private enum Release {
+        KEPT, DELETED, FAILED
+    }
+
+    @Autowired
+    public ImageStorageService(ItemImageRepository itemImageRepository,
+                               ImageVariantService imageVariantService,
+                               TransactionTemplate transactionTemplate) {
+        this(itemImageRepository, imageVariantService, transactionTemplate, Paths.get(UPLOAD_DIR), Paths.get(STAGING_DIR));
+    }
+
+    // 업로드/스테이징 위치 지정 (테스트용)
+    ImageStorageService(ItemImageRepository itemImageRepository,
+                        ImageVariantService imageVariantService,
+                        TransactionTemplate transactionTemplate,
+                        Path uploadDir,
+                        Path stagingDir) {
+        this.itemImageRepository = itemImageRepository;
+        this.imageVariantService = imageVariantService;
+        this.transactionTemplate = transactionTemplate;
+        this.uploadDir = uploadDir;
+        this.stagingDir = stagingDir;
+    }
+
+    /**
+     * 트랜잭션 밖에서 업로드를 스테이징 영역에 스트리밍하며 해시를 계산한다.
+     * 최종 파일명은 해시로 정해지지만, 실제 이동(promote)은 행을 저장하는 트랜잭션 안에서 커밋 직전에 한다.
+     */
+    public StagedImage stage(MultipartFile file) {
+        Path tmp = null;
+        try {
+            Files.createDirectories(stagingDir);
+            tmp = Files.createTempFile(stagingDir, "upload-", ".tmp");
+
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+                Files.copy(in, tmp, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            String filename = HexFormat.of().formatHex(digest.digest()) + extensionOf(file.getOriginalFilename());
+            return new StagedImage(tmp, "/uploads/" + filename);
+        } catch (IOException | NoSuchAlgorithmException e) {
+            deleteQuietly(tmp);
+            throw new RuntimeException("이미지 저장 실패: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 커밋 직전(트랜잭션 안) 스테이징 파일을 최종 위치로 이동
+     * 같은 내용이 이미 있어도 원자적으로 덮어써서(내용 동일) 이동 직후 파일 존재를 보장한다.
+     * 이동 실패 시 예외를 던져 트랜잭션을 롤백 → 없는 파일을 가리키는 행이 커밋되지 않는다.
+     * 경로 잠금은 커밋까지 유지 → 동시에 도는 삭제는 커밋된 행을 보고 나서야 참조 여부를 판단한다.
+     */
+    public void promote(StagedImage staged) {
+        itemImageRepository.lockPhotoPath(lockKey(staged.photoPath()));
+        String filename = staged.photoPath().substring("/uploads/".length());
+        Path target = uploadDir.resolve(filename);
+        try {
+            boolean existed = Files.exists(target);
+            Files.createDirectories(target.getParent());
+            Files.move(staged.stagedFile(), target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            if (existed) {
+                deduplicatedFiles.increment();
+            } else {
+                storedFiles.increment();
+            }
+        } catch (IOException e) {
+            System.err.println("❌ 이미지 이동 실패: " + staged.photoPath() + ", " + e.getMessage());
+            throw new RuntimeException("이미지 저장 실패: " + e.getMessage());
+        }
+    }
+
+    // DB 반영 전에 실패했을 때 보상 처리: 스테이징 파일 삭제
+    public void discard(StagedImage staged) {
+        deleteQuietly(staged.stagedFile());
+    }
+
+    /**
+     * 트랜잭션이 롤백됐을 때 보상 처리
+     * 아직 이동 전이면 스테이징 파일만 지우고, 이미 옮겼다면 참조가 없을 때만 최종 파일 삭제
+     * (같은 사진을 다른 게시글이 쓰고 있으면 유지, 삭제 실패분은 정합성 스캔이 정리)
+     */
+    public void revert(StagedImage staged) {
+        if (Files.exists(staged.stagedFile())) {
+            discard(staged);
+        } else {
+            releaseIfUnreferenced(staged.photoPath());
+        }
+    }
+
+    /**
+     * 더 이상 이 경로를 참조하는 ItemImage 행이 없을 때만 원본/변환 파일 삭제
+     * (삭제 대기열을 비우는 ImageGarbageCollector 가 호출)
+     * 확인과 삭제는 업로드와 같은 경로 잠금 안에서 수행 → 같은 사진을 동시에 올리는 요청과 엇갈리지 않음
+     * @return 처리 완료(삭제했거나 아직 참조 중) 여부, 파일 삭제 실패 시 false → 재시도
+     */
+    public boolean releaseIfUnreferenced(String photoPath) {
+        if (photoPath == null || !photoPath.startsWith("/uploads/")) return true;
+        return release(photoPath, Long.MAX_VALUE) != Release.FAILED;
+    }
+
+    /**
+     * 정합성 스캔에서 찾은 고아 파일 정리 (ImageGarbageCollector 가 호출)
+     * 스캔 시점의 참조 조회는 잠금 밖이라, 잠금 안에서 참조 여부와 수정 시각을 다시 확인한다.
+     * 그 사이 커밋된 업로드가 있거나 원본/변환 파일 중 하나라도 modifiedBefore 이후에 쓰였으면 유지
+     * @return 원본/변환 파일을 삭제했으면 true
+     */
+    public boolean releaseOrphan(String photoPath, long modifiedBefore) {
+        if (photoPath == null || !photoPath.startsWith("/uploads/")) return false;
+        return release(photoPath, modifiedBefore) == Release.DELETED;
+    }
+
+    // 경로 잠금 → 참조 확인 → 수정 시각 확인 → 원본/변환 파일 삭제를 한 트랜잭션에서
+    private Release release(String photoPath, long modifiedBefore) {
+        String filename = photoPath.substring(photoPath.lastIndexOf("/") + 1);
+        Release result = transactionTemplate.execute(status -> {
+            itemImageRepository.lockPhotoPath(lockKey(photoPath));
+            if (itemImageRepository.existsByPhotoPath(photoPath)) {
+                System.out.println("🔗 다른 게시글이 참조 중이라 파일 유지: " + photoPath);
+                return Release.KEPT;
+            }
+            if (modifiedAfter(filename, modifiedBefore)) return Release.KEPT;
+            return deleteWithVariants(filename) ? Release.DELETED : Release.FAILED;
+        });
+        return result != null ? result : Release.FAILED;
+    }
+
+    // 원본/변환 파일 중 cutoff 이후에 쓰인 것이 있는지 (없는 파일은 건너뜀, 확인 못 하면 유지 쪽으로)
+    private boolean modifiedAfter(String filename, long cutoff) {
+        if (cutoff == Long.MAX_VALUE) return false;
+        List<Path> files = new ArrayList<>(imageVariantService.variantFiles(filename));
+        files.add(uploadDir.resolve(filename));
+        for (Path file : files) {
+            try {
+                if (Files.getLastModifiedTime(file).toMillis() > cutoff) return true;
+            } catch (NoSuchFileException ignored) {
+            } catch (IOException e) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // 해시 파일명은 앞 16자리(64비트)를 그대로 잠금 키로, 그 외 경로는 문자열 해시 (충돌해도 직렬화만 늘어남)
+    static long lockKey(String photoPath) {
+        String filename = photoPath.substring(photoPath.lastIndexOf("/") + 1);
+        if (isContentAddressed(filename)) {
+            return Long.parseUnsignedLong(filename.substring(0, 16), 16);
+        }
+        return photoPath.hashCode();
+    }
+
+    // 참조 여부를 이미 확인한 파일의 원본 + 썸네일/중간 크기 삭제
+    boolean deleteWithVariants(String filename) {
+        try {
+            Files.deleteIfExists(uploadDir.resolve(filename));
+            imageVariantService.deleteVariants(filename);
+            System.out.println("🗑️ 이미지 파일 삭제: " + filename);
+            return true;
+        } catch (IOException e) {
+            System.err.println("❌ 이미지 파일 삭제 실패: " + e.getMessage());
+            return false;
+        }
+    }
+
+    // 해시 파일명은 내용이 바뀌지 않으므로 영구 캐시 가능
+    public static boolean isContentAddressed(String filename) {
+        return filename != null && CONTENT_ADDRESSED_NAME.matcher(filename).matches();
+    }
+
+    public long getStoredFiles() {
+        return storedFiles.sum();
+    }
+
+    public long getDeduplicatedFiles() {
+        return deduplicatedFiles.sum();
+    }
+
+    private static String extensionOf(String originalFilename) {
+        if (originalFilename == null || !originalFilename.contains(".")) return "";
+        String ext = originalFilename.substring(originalFilename.lastIndexOf(".")).toLowerCase(Locale.ROOT);
+        return SAFE_EXTENSION.matcher(ext).matches() ? ext : "";
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) return;
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.mega.haksamate.service;
+
+import com.mega.haksamate.entity.Item;
+import com.mega.haksamate.event.ItemChangedEvent;
+import com.mega.haksamate.event.ItemImagesStoredEvent;
+import com.mega.haksamate.repository.ItemImageRepository;
+import com.mega.haksamate.repository.ItemRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 업로드 이미지의 썸네일/중간 크기 변환 파이프라인
+ * 커밋 이후 제한된 크기의 전용 스레드풀에서 JDK ImageIO 만으로 변환하고,
+ * 결과 경로를 ItemImage / Item.thumbnail 에 기록한다.
+ */
+@Service
+public class ImageVariantService {
+
+    static final String THUMBNAIL_DIR = "./frontend/public/uploads/thumbnails";
+    static final String MEDIUM_DIR = "./frontend/public/uploads/medium";
+
+    private static final int THUMBNAIL_MAX_SIZE = 240;
+    private static final int MEDIUM_MAX_SIZE = 960;
+
+    private final ItemRepository itemRepository;
+    private final ItemImageRepository itemImageRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ThreadPoolExecutor executor;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder totalProcessingMillis = new LongAdder();
+    private final AtomicLong maxProcessingMillis = new AtomicLong();
+
+    public ImageVariantService(ItemRepository itemRepository,
+                               ItemImageRepository itemImageRepository,
+                               TransactionTemplate transactionTemplate,
+                               ApplicationEventPublisher eventPublisher,
+                               @Value("${image.variants.threads:2}") int threads,
+                               @Value("${image.variants.queue-capacity:500}") int queueCapacity) {
+        this.itemRepository = itemRepository;
+        this.itemImageRepository = itemImageRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        AtomicInteger threadSeq = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "image-variant-" + threadSeq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onImagesStored(ItemImagesStoredEvent event) {
+        if (event.photoPaths() == null || event.photoPaths().isEmpty()) return;
+        submit(event.itemId(), event.photoPaths());
+    }
+
+    public void submit(Long itemId, List<String> photoPaths) {
+        try {
+            executor.execute(() -> process(itemId, photoPaths));
+            submitted.increment();
+        } catch (RejectedExecutionException e) {
+            // 큐가 가득 차면 원본 이미지로 대체 제공 (다음 수정/재처리 때 다시 시도)
+            rejected.increment();
+            System.err.println("⚠️ 썸네일 변환 큐 포화로 건너뜀: itemId=" + itemId);
+        }
+    }
+
+    private void process(Long itemId, List<String> photoPaths) {
+        long start = System.nanoTime();
+        try {
+            Map<String, String[]> variants = new HashMap<>();
+            for (String photoPath : photoPaths) {
+                String[] generated = generateVariants(photoPath);
+                if (generated != null) variants.put(photoPath, generated);
+            }
+            if (!variants.isEmpty()) {
+                recordVariants(itemId, variants);
+            }
+            completed.increment();
+        } catch (Exception e) {
+            failed.increment();
+            System.err.println("❌ 썸네일 변환 실패: itemId=" + itemId + ", " + e.getMessage());
+        } finally {
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            totalProcessingMillis.add(elapsed);
+            maxProcessingMillis.accumulateAndGet(elapsed, Math::max);
+        }
+    }
+
+    // [썸네일 경로, 중간 크기 경로] 반환, ImageIO 가 읽을 수 없는 형식이면 null
+    private String[] generateVariants(String photoPath) throws IOException {
+        if (photoPath == null || !photoPath.startsWith("/uploads/")) return null;
+        String filename = photoPath.substring(photoPath.lastIndexOf("/") + 1);
+        String format = filename.substring(filename.lastIndexOf(".") + 1).toLowerCase(Locale.ROOT);
+        if (!ImageIO.getImageWritersBySuffix(format).hasNext()) return null;
+
+        Path thumbnail = Paths.get(THUMBNAIL_DIR, "thumb_" + filename);
+        Path medium = Paths.get(MEDIUM_DIR, "medium_" + filename);
+
+        // 같은 파일의 변환 결과가 이미 있으면 재사용
+        if (!Files.exists(thumbnail) || !Files.exists(medium)) {
+            BufferedImage source = ImageIO.read(Paths.get(ImageStorageService.UPLOAD_DIR, filename).toFile());
+            if (source == null) return null;
+            Files.createDirectories(thumbnail.getParent());
+            Files.createDirectories(medium.getParent());
+            writeResized(source, THUMBNAIL_MAX_SIZE, format, thumbnail);
+            writeResized(source, MEDIUM_MAX_SIZE, format, medium);
+        }
+
+        return new String[]{
+                "/uploads/thumbnails/" + thumbnail.getFileName(),
+                "/uploads/medium/" + medium.getFileName()
+        };
+    }
+
+    private void writeResized(BufferedImage source, int maxSize, String format, Path target) throws IOException {
+        BufferedImage resized = resize(source, maxSize, format.equals("png") || format.equals("gif"));
+        // 임시 파일에 쓴 뒤 이동해서 반쯤 쓰인 파일이 서빙되지 않도록 함
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        if (!ImageIO.write(resized, format, tmp.toFile())) {
+            Files.deleteIfExists(tmp);
+            throw new IOException("지원하지 않는 이미지 형식: " + format);
+        }
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // 긴 변 기준 maxSize 로 축소 (확대는 하지 않음), 큰 축소는 절반씩 단계적으로 줄여 품질 유지
+    private BufferedImage resize(BufferedImage source, int maxSize, boolean keepAlpha) {
+        int type = keepAlpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        double scale = Math.min(1.0, (double) maxSize / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * scale));
+        int targetHeight = Math.max(1, (int) Math.round(height * scale));
+
+        BufferedImage current = source;
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            BufferedImage step = new BufferedImage(width, height, type);
+            Graphics2D g = step.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            if (!keepAlpha) {
+                g.setColor(Color.WHITE);
+                g.fillRect(0, 0, width, height);
+            }
+            g.drawImage(current, 0, 0, width, height, null);
+            g.dispose();
+            current = step;
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    // 이미지 행과 대표 썸네일만 UPDATE 문으로 갱신 → 변환 중 커밋된 제목/가격/상태 변경을 덮어쓰지 않음
+    private void recordVariants(Long itemId, Map<String, String[]> variants) {
+        transactionTemplate.executeWithoutResult(status -> {
+            int updated = 0;
+            for (Map.Entry<String, String[]> variant : variants.entrySet()) {
+                updated += itemImageRepository.updateVariants(itemId, variant.getKey(),
+                        variant.getValue()[0], variant.getValue()[1]);
+            }
+            if (updated == 0) return; // 변환 도중 삭제된 게시글/이미지
+            itemRepository.refreshThumbnail(itemId);
+            itemRepository.findSnapshotById(itemId)
+                    .ifPresent(snapshot -> eventPublisher.publishEvent(ItemChangedEvent.updated(snapshot)));
+        });
+    }
+
+    // 대표(첫 번째) 이미지의 썸네일, 아직 없으면 null → 목록은 원본 경로로 대체
+    static String firstThumbnail(Item item) {
+        if (item.getItemImages() == null || item.getItemImages().isEmpty()) return null;
+        return item.getItemImages().get(0).getThumbnailPath();
+    }
+
+    // 원본 파일명 기준 변환 결과 경로 (썸네일, 중간 크기)
+    public List<Path> variantFiles(String filename) {
+        return List.of(Paths.get(THUMBNAIL_DIR, "thumb_" + filename), Paths.get(MEDIUM_DIR, "medium_" + filename));
+    }
+
+    // 원본 파일명 기준으로 변환 결과 삭제
+    public void deleteVariants(String filename) throws IOException {
+        for (Path file : variantFiles(filename)) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    public Map<String, Object> stats() {
+        long done = completed.sum() + failed.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("queueDepth", executor.getQueue().size());
+        stats.put("activeWorkers", executor.getActiveCount());
+        stats.put("submitted", submitted.sum());
+        stats.put("completed", completed.sum());
+        stats.put("failed", failed.sum());
+        stats.put("rejected", rejected.sum());
+        stats.put("avgProcessingMillis", done == 0 ? 0.0 : (double) totalProcessingMillis.sum() / done);
+        stats.put("maxProcessingMillis", maxProcessingMillis.get());
+        return stats;
+    }
+}
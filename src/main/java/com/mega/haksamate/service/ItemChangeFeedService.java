@@ -0,0 +1,108 @@
+package com.mega.haksamate.service;
+
+import com.mega.haksamate.dto.ItemChangeDTO;
+import com.mega.haksamate.dto.ItemChangesResponseDTO;
+import com.mega.haksamate.dto.ItemSnapshotDTO;
+import com.mega.haksamate.event.ItemChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * 게시글 변경 피드
+ * 커밋된 변경마다 순번(seq)을 붙여 /topic/items 와 /topic/items/category/{카테고리} 로 델타만 전송하고,
+ * 최근 변경을 링 버퍼에 보관해서 재연결한 클라이언트가 since 이후 변경만 받아갈 수 있게 한다.
+ */
+@Service
+public class ItemChangeFeedService {
+
+    private static final String TOPIC = "/topic/items";
+    private static final String CATEGORY_TOPIC_PREFIX = "/topic/items/category/";
+    private static final int MAX_EVENTS_PER_RESPONSE = 500;
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ItemFacetIndex itemFacetIndex;
+    private final int bufferSize;
+
+    // 서버가 재시작되면 seq 가 0부터 다시 시작하므로 epoch 로 구분
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Deque<ItemChangeDTO> buffer = new ArrayDeque<>();
+    private long latestSeq;
+
+    public ItemChangeFeedService(SimpMessagingTemplate messagingTemplate,
+                                 ItemFacetIndex itemFacetIndex,
+                                 @Value("${item.changes.buffer-size:1000}") int bufferSize) {
+        this.messagingTemplate = messagingTemplate;
+        this.itemFacetIndex = itemFacetIndex;
+        this.bufferSize = bufferSize;
+    }
+
+    // 패싯 인덱스보다 먼저 실행 → 삭제/상태변경 이벤트의 카테고리를 인덱스에서 찾을 수 있음
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        ItemSnapshotDTO snapshot = event.snapshot();
+        String category = snapshot != null ? snapshot.getCategory() : itemFacetIndex.categoryOf(event.itemId());
+
+        ItemChangeDTO.ItemChangeDTOBuilder change = ItemChangeDTO.builder()
+                .type(event.type().name())
+                .itemid(event.itemId())
+                .status(event.status() != null ? event.status().name() : null)
+                .category(category);
+        if (snapshot != null) {
+            change.title(snapshot.getTitle())
+                    .price(snapshot.getPrice())
+                    .regdate(snapshot.getRegdate())
+                    .sellerId(snapshot.getSellerId())
+                    .thumbnail(snapshot.getThumbnail());
+        }
+
+        // 순번 부여와 전송을 같은 락 안에서 해서 구독자가 seq 순서대로 받도록 함
+        synchronized (buffer) {
+            ItemChangeDTO dto = change.seq(++latestSeq).build();
+            buffer.addLast(dto);
+            while (buffer.size() > bufferSize) buffer.removeFirst();
+            try {
+                messagingTemplate.convertAndSend(TOPIC, dto);
+                if (category != null) {
+                    messagingTemplate.convertAndSend(CATEGORY_TOPIC_PREFIX + category, dto);
+                }
+            } catch (Exception e) {
+                System.err.println("❌ 게시글 변경 전송 실패: seq=" + dto.getSeq() + ", " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * since 이후 변경 목록
+     * epoch 가 다르거나(서버 재시작) since 가 버퍼보다 오래됐으면 resetRequired → 전체 목록 재조회
+     */
+    public ItemChangesResponseDTO changesSince(long since, String clientEpoch) {
+        synchronized (buffer) {
+            long oldestSeq = buffer.isEmpty() ? latestSeq + 1 : buffer.peekFirst().getSeq();
+            boolean epochChanged = clientEpoch != null && !clientEpoch.isBlank() && !clientEpoch.equals(epoch);
+            boolean tooOld = since < oldestSeq - 1 || since > latestSeq;
+            if (epochChanged || tooOld) {
+                return new ItemChangesResponseDTO(epoch, latestSeq, true, new ArrayList<>());
+            }
+
+            List<ItemChangeDTO> events = new ArrayList<>();
+            for (ItemChangeDTO dto : buffer) {
+                if (dto.getSeq() <= since) continue;
+                events.add(dto);
+                if (events.size() >= MAX_EVENTS_PER_RESPONSE) break;
+            }
+            // 잘렸으면 latestSeq 대신 마지막으로 돌려준 seq 기준으로 이어받도록 함
+            long returnedUpTo = events.isEmpty() ? since : events.get(events.size() - 1).getSeq();
+            return new ItemChangesResponseDTO(epoch, Math.max(returnedUpTo, since), false, events);
+        }
+    }
+}
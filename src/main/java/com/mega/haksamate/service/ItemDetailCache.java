@@ -0,0 +1,43 @@
+package com.mega.haksamate.service;
+
+import com.mega.haksamate.dto.ItemResponseDTO;
+import com.mega.haksamate.event.ItemChangedEvent;
+import com.mega.haksamate.util.SingleFlightCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 게시글 상세(ItemResponseDTO) 캐시
+ * 게시글이 바뀌면 커밋 이후 ItemChangedEvent 로 해당 ID만 무효화한다.
+ */
+@Component
+public class ItemDetailCache {
+
+    private final SingleFlightCache<Long, ItemResponseDTO> cache;
+
+    public ItemDetailCache(@Value("${item.cache.max-size:2000}") int maxSize,
+                           @Value("${item.cache.ttl-seconds:60}") long ttlSeconds) {
+        this.cache = new SingleFlightCache<>(maxSize, ttlSeconds * 1000L);
+    }
+
+    public ItemResponseDTO get(Long itemId, Function<Long, ItemResponseDTO> loader) {
+        return cache.get(itemId, loader);
+    }
+
+    public void evict(Long itemId) {
+        cache.invalidate(itemId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        evict(event.itemId());
+    }
+
+    public Map<String, Object> stats() {
+        return cache.stats();
+    }
+}
@@ -0,0 +1,322 @@
+package com.mega.haksamate.service;
+
+import com.mega.haksamate.dto.ItemSnapshotDTO;
+import com.mega.haksamate.entity.Item;
+import com.mega.haksamate.event.ItemChangedEvent;
+import com.mega.haksamate.repository.ItemRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 게시글 탐색(필터 + 패싯 카운트)용 컬럼형 인메모리 인덱스
+ * 행 번호별 원시 배열(가격, 등록일, 카테고리 서수, 상태 서수)에 저장해서 한 번의 순차 스캔으로
+ * 필터링과 패싯 집계를 같이 한다. 삭제된 행은 tombstone 으로 표시하고, 절반 이상 쌓이면 압축한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ItemFacetIndex {
+
+    public enum Sort {
+        NEWEST, PRICE_ASC, PRICE_DESC
+    }
+
+    // 조회 조건 (null 이면 해당 조건 없음)
+    public record Query(String category, Item.Status status, Integer minPrice, Integer maxPrice,
+                        Sort sort, int offset, int limit) {
+    }
+
+    public record Result(List<Long> itemIds, int totalCount,
+                         Map<String, Integer> categoryCounts, Map<String, Integer> statusCounts) {
+    }
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final Item.Status[] STATUSES = Item.Status.values();
+
+    private final ItemRepository itemRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private int[] prices = new int[INITIAL_CAPACITY];
+    private long[] regdates = new long[INITIAL_CAPACITY];
+    private int[] categoryOrdinals = new int[INITIAL_CAPACITY];
+    private byte[] statusOrdinals = new byte[INITIAL_CAPACITY];
+    private boolean[] deleted = new boolean[INITIAL_CAPACITY];
+    private int rowCount;
+    private int deletedCount;
+
+    private final Map<Long, Integer> rowOf = new HashMap<>();
+    private final List<String> categories = new ArrayList<>();
+    private final Map<String, Integer> categoryOrdinalOf = new HashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        try {
+            List<ItemSnapshotDTO> snapshots = itemRepository.findAllSnapshots();
+            lock.writeLock().lock();
+            try {
+                clear(Math.max(INITIAL_CAPACITY, snapshots.size()));
+                snapshots.forEach(this::upsert);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            System.out.println("🧮 패싯 인덱스 빌드 완료: " + snapshots.size() + "건");
+        } catch (Exception e) {
+            System.err.println("❌ 패싯 인덱스 빌드 실패: " + e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            switch (event.type()) {
+                case CREATED, UPDATED -> {
+                    if (event.snapshot() != null) upsert(event.snapshot());
+                }
+                case STATUS_CHANGED -> {
+                    Integer row = rowOf.get(event.itemId());
+                    if (row != null && event.status() != null) {
+                        statusOrdinals[row] = (byte) event.status().ordinal();
+                    }
+                }
+                case DELETED -> remove(event.itemId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 변경 피드의 카테고리별 토픽 라우팅용
+    public String categoryOf(Long itemId) {
+        lock.readLock().lock();
+        try {
+            Integer row = rowOf.get(itemId);
+            if (row == null || categoryOrdinals[row] < 0) return null;
+            return categories.get(categoryOrdinals[row]);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 필터에 맞는 게시글 ID 한 페이지 + 전체 개수 + 패싯 카운트
+     * 패싯 카운트는 자기 차원의 필터만 빼고 계산한다 (카테고리를 골라도 다른 카테고리 개수가 보이도록).
+     */
+    public Result browse(Query query) {
+        lock.readLock().lock();
+        try {
+            int categoryFilter = -1;
+            if (query.category() != null) {
+                Integer ordinal = categoryOrdinalOf.get(query.category());
+                categoryFilter = ordinal != null ? ordinal : Integer.MIN_VALUE; // 없는 카테고리 → 결과 없음
+            }
+            int statusFilter = query.status() != null ? query.status().ordinal() : -1;
+            int minPrice = query.minPrice() != null ? query.minPrice() : Integer.MIN_VALUE;
+            int maxPrice = query.maxPrice() != null ? query.maxPrice() : Integer.MAX_VALUE;
+
+            int[] categoryCounts = new int[categories.size()];
+            int[] statusCounts = new int[STATUSES.length];
+            int offset = Math.max(0, query.offset());
+            int limit = Math.max(0, query.limit());
+            // 페이지 끝(offset + limit)까지만 힙에 유지 → 매칭 행 전체를 박싱/정렬하지 않음
+            RowHeap top = new RowHeap((int) Math.min((long) offset + limit, Integer.MAX_VALUE),
+                    query.sort() == null ? Sort.NEWEST : query.sort());
+            int matchCount = 0;
+
+            for (int row = 0; row < rowCount; row++) {
+                if (deleted[row]) continue;
+                boolean priceMatch = prices[row] >= minPrice && prices[row] <= maxPrice;
+                if (!priceMatch) continue;
+                boolean categoryMatch = categoryFilter == -1 || categoryOrdinals[row] == categoryFilter;
+                boolean statusMatch = statusFilter == -1 || statusOrdinals[row] == statusFilter;
+
+                if (statusMatch && categoryOrdinals[row] >= 0) categoryCounts[categoryOrdinals[row]]++;
+                if (categoryMatch) statusCounts[statusOrdinals[row]]++;
+                if (categoryMatch && statusMatch) {
+                    matchCount++;
+                    top.offer(row);
+                }
+            }
+
+            int[] ranked = top.drainSorted();
+            List<Long> pageIds = new ArrayList<>(Math.max(0, ranked.length - offset));
+            for (int i = offset; i < ranked.length; i++) {
+                pageIds.add(ids[ranked[i]]);
+            }
+
+            Map<String, Integer> categoryFacet = new TreeMap<>();
+            for (int i = 0; i < categoryCounts.length; i++) {
+                if (categoryCounts[i] > 0) categoryFacet.put(categories.get(i), categoryCounts[i]);
+            }
+            Map<String, Integer> statusFacet = new LinkedHashMap<>();
+            for (Item.Status status : STATUSES) {
+                statusFacet.put(status.name(), statusCounts[status.ordinal()]);
+            }
+            return new Result(pageIds, matchCount, categoryFacet, statusFacet);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 최신순 / 가격순 (동점이면 최신순, 그다음 ID 역순), 음수면 a 가 앞 순위
+    private int compareRows(int a, int b, Sort sort) {
+        int byPrice = switch (sort) {
+            case NEWEST -> 0;
+            case PRICE_ASC -> Integer.compare(prices[a], prices[b]);
+            case PRICE_DESC -> Integer.compare(prices[b], prices[a]);
+        };
+        if (byPrice != 0) return byPrice;
+        int byDate = Long.compare(regdates[b], regdates[a]);
+        return byDate != 0 ? byDate : Long.compare(ids[b], ids[a]);
+    }
+
+    /**
+     * 상위 K 개 행 번호만 유지하는 원시 int 힙 (루트 = 현재 K 개 중 가장 뒤 순위)
+     * 읽기 잠금 안에서 browse 한 번 동안만 사용한다.
+     */
+    private final class RowHeap {
+        private final int capacity;
+        private final Sort sort;
+        private int[] heap;
+        private int size;
+
+        RowHeap(int capacity, Sort sort) {
+            this.capacity = capacity;
+            this.sort = sort;
+            this.heap = new int[Math.min(capacity, 16)];
+        }
+
+        void offer(int row) {
+            if (capacity == 0) return;
+            if (size < capacity) {
+                if (size == heap.length) heap = Arrays.copyOf(heap, (int) Math.min((long) size * 2, capacity));
+                heap[size] = row;
+                siftUp(size++);
+            } else if (compareRows(row, heap[0], sort) < 0) {
+                heap[0] = row;
+                siftDown(0);
+            }
+        }
+
+        // 힙을 비우면서 순위 순서(앞 순위 먼저)의 배열로 반환
+        int[] drainSorted() {
+            int[] sorted = new int[size];
+            for (int i = sorted.length - 1; i >= 0; i--) {
+                sorted[i] = heap[0];
+                heap[0] = heap[--size];
+                siftDown(0);
+            }
+            return sorted;
+        }
+
+        private void siftUp(int index) {
+            int row = heap[index];
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (compareRows(heap[parent], row, sort) >= 0) break;
+                heap[index] = heap[parent];
+                index = parent;
+            }
+            heap[index] = row;
+        }
+
+        private void siftDown(int index) {
+            if (size == 0) return;
+            int row = heap[index];
+            int half = size >>> 1;
+            while (index < half) {
+                int child = 2 * index + 1;
+                int right = child + 1;
+                if (right < size && compareRows(heap[right], heap[child], sort) > 0) child = right;
+                if (compareRows(row, heap[child], sort) >= 0) break;
+                heap[index] = heap[child];
+                index = child;
+            }
+            heap[index] = row;
+        }
+    }
+
+    private void upsert(ItemSnapshotDTO snapshot) {
+        Integer existing = rowOf.get(snapshot.getItemid());
+        int row;
+        if (existing != null) {
+            row = existing;
+        } else {
+            if (rowCount == ids.length) grow(rowCount * 2);
+            row = rowCount++;
+            rowOf.put(snapshot.getItemid(), row);
+        }
+        ids[row] = snapshot.getItemid();
+        prices[row] = snapshot.getPrice();
+        regdates[row] = snapshot.getRegdate() != null ? snapshot.getRegdate() : 0L;
+        categoryOrdinals[row] = categoryOrdinal(snapshot.getCategory());
+        statusOrdinals[row] = (byte) (snapshot.getStatus() != null ? snapshot.getStatus() : Item.Status.판매중).ordinal();
+        deleted[row] = false;
+    }
+
+    private void remove(Long itemId) {
+        Integer row = rowOf.remove(itemId);
+        if (row == null) return;
+        deleted[row] = true;
+        deletedCount++;
+        if (deletedCount > INITIAL_CAPACITY && deletedCount * 2 > rowCount) compact();
+    }
+
+    // 카테고리 문자열 → 서수 (처음 보는 카테고리는 새 서수 부여, null 은 -1)
+    private int categoryOrdinal(String category) {
+        if (category == null) return -1;
+        return categoryOrdinalOf.computeIfAbsent(category, c -> {
+            categories.add(c);
+            return categories.size() - 1;
+        });
+    }
+
+    // tombstone 행을 제거하고 살아있는 행만 앞으로 당김
+    private void compact() {
+        int write = 0;
+        for (int read = 0; read < rowCount; read++) {
+            if (deleted[read]) continue;
+            ids[write] = ids[read];
+            prices[write] = prices[read];
+            regdates[write] = regdates[read];
+            categoryOrdinals[write] = categoryOrdinals[read];
+            statusOrdinals[write] = statusOrdinals[read];
+            deleted[write] = false;
+            rowOf.put(ids[write], write);
+            write++;
+        }
+        rowCount = write;
+        deletedCount = 0;
+    }
+
+    private void grow(int capacity) {
+        ids = Arrays.copyOf(ids, capacity);
+        prices = Arrays.copyOf(prices, capacity);
+        regdates = Arrays.copyOf(regdates, capacity);
+        categoryOrdinals = Arrays.copyOf(categoryOrdinals, capacity);
+        statusOrdinals = Arrays.copyOf(statusOrdinals, capacity);
+        deleted = Arrays.copyOf(deleted, capacity);
+    }
+
+    private void clear(int capacity) {
+        ids = new long[capacity];
+        prices = new int[capacity];
+        regdates = new long[capacity];
+        categoryOrdinals = new int[capacity];
+        statusOrdinals = new byte[capacity];
+        deleted = new boolean[capacity];
+        rowCount = 0;
+        deletedCount = 0;
+        rowOf.clear();
+        categories.clear();
+        categoryOrdinalOf.clear();
+    }
+}
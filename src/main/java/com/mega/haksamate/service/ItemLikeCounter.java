@@ -0,0 +1,224 @@
+package com.mega.haksamate.service;
+
+import com.mega.haksamate.dto.ItemLikeCountDTO;
+import com.mega.haksamate.event.ItemChangedEvent;
+import com.mega.haksamate.event.ItemLikeChangedEvent;
+import com.mega.haksamate.repository.ItemLikeRepository;
+import com.mega.haksamate.repository.ItemRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 게시글별 좋아요 수 인메모리 카운터
+ * 시작 시 GROUP BY 한 번으로 채우고, 좋아요 추가/취소는 커밋 이후 LongAdder 에 반영한다.
+ * 바뀐 게시글은 dirty 로 표시해서 주기적으로 item.like_count 에 한꺼번에 기록(write-behind)하고,
+ * 더 긴 주기로 실제 좋아요 행 수와 비교해 어긋난 값을 보정한다.
+ *
+ * 초기화/보정은 DB 집계와 이벤트가 엇갈리지 않도록 게시글별 변경 순번(stamp)과 커밋 진행 중 표시를 본다.
+ * 집계 시작 이후 반영된 변경이 있거나, 커밋은 됐지만 아직 카운터에 반영되지 않았을 수 있는 게시글은
+ * 집계에 그 변경이 들어갔는지 알 수 없으므로 건너뛰고 다음 기회에 맞춘다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ItemLikeCounter {
+
+    private final ItemLikeRepository itemLikeRepository;
+    private final ItemRepository itemRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ConcurrentHashMap<Long, LongAdder> counts = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    private volatile boolean ready;
+
+    private static final int SEED_ROUNDS = 3;
+
+    // 변경 순번: 카운터에 반영할 때마다 증가, 게시글별로 마지막 반영 순번을 기록
+    private final AtomicLong sequence = new AtomicLong();
+    private final ConcurrentHashMap<Long, Long> lastChange = new ConcurrentHashMap<>();
+    // 커밋 직전 ~ 카운터 반영(또는 롤백) 사이에 있는 좋아요 변경 수
+    private final ConcurrentHashMap<Long, Integer> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder flushedRows = new LongAdder();
+    private final LongAdder corrections = new LongAdder();
+
+    /**
+     * 시작 시 GROUP BY 로 카운터를 채움
+     * 초기화 중에 들어온 변경도 카운터에는 바로 더해지므로, 집계 값은 더하지 않고 차이만큼 맞춘다.
+     * 집계와 엇갈린 게시글은 그 게시글만 다시 집계 (몇 번 해도 안 맞으면 정기 보정에 맡김)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        try {
+            Collection<Long> retry = null;
+            int seeded = 0;
+            for (int round = 0; round < SEED_ROUNDS; round++) {
+                long snapshot = sequence.get();
+                Map<Long, Long> actual = retry == null ? countAll() : countOf(retry);
+                Set<Long> ids = new HashSet<>(actual.keySet());
+                if (retry == null) ids.addAll(counts.keySet()); else ids.addAll(retry);
+                if (round == 0) seeded = actual.size();
+                retry = align(snapshot, actual, ids, false);
+                if (retry.isEmpty()) break;
+            }
+            ready = true;
+            System.out.println("❤️ 좋아요 카운터 초기화 완료: " + seeded + "건"
+                    + (retry.isEmpty() ? "" : ", 정기 보정 대기 " + retry.size() + "건"));
+        } catch (Exception e) {
+            System.err.println("❌ 좋아요 카운터 초기화 실패: " + e.getMessage());
+        }
+    }
+
+    // 커밋 직전: 진행 중 표시 (커밋/롤백이 끝나면 해제) → 그 사이의 집계는 이 게시글을 보정하지 않음
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void beforeLikeCommit(ItemLikeChangedEvent event) {
+        Long itemId = event.itemId();
+        inFlight.merge(itemId, 1, Integer::sum);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                inFlight.computeIfPresent(itemId, (id, n) -> n > 1 ? n - 1 : null);
+            }
+        });
+    }
+
+    // 커밋 이후: 카운터 반영 (순번을 먼저 남겨야 보정 쪽에서 "카운터를 읽은 뒤 순번 확인" 순서로 변경을 놓치지 않음)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLikeChanged(ItemLikeChangedEvent event) {
+        lastChange.merge(event.itemId(), sequence.incrementAndGet(), Math::max);
+        counter(event.itemId()).add(event.delta());
+        dirty.add(event.itemId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        if (event.type() != ItemChangedEvent.Type.DELETED) return;
+        counts.remove(event.itemId());
+        dirty.remove(event.itemId());
+        lastChange.remove(event.itemId());
+    }
+
+    // 초기화 전(또는 실패 시)에만 DB 로 대체
+    public long count(Long itemId) {
+        if (!ready) return itemLikeRepository.countByItem_Itemid(itemId);
+        LongAdder adder = counts.get(itemId);
+        return adder != null ? Math.max(0, adder.sum()) : 0L;
+    }
+
+    // 여러 게시글 좋아요 수 (초기화 전에는 IN 조회 한 번)
+    public Map<Long, Long> counts(Collection<Long> itemIds) {
+        Map<Long, Long> result = new HashMap<>();
+        if (!ready) {
+            itemIds.forEach(id -> result.put(id, 0L));
+            itemLikeRepository.countByItemIds(itemIds).forEach(row -> result.put(row.getItemId(), row.getLikeCount()));
+            return result;
+        }
+        itemIds.forEach(id -> result.put(id, count(id)));
+        return result;
+    }
+
+    @Scheduled(fixedDelayString = "${item.likes.flush-interval-ms:5000}",
+            initialDelayString = "${item.likes.flush-interval-ms:5000}")
+    public void flush() {
+        if (!ready || dirty.isEmpty()) return;
+        List<Long> ids = new ArrayList<>(dirty);
+        ids.forEach(dirty::remove); // 반영 중 들어온 변경은 다시 dirty 로 표시됨
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (Long id : ids) {
+                    flushedRows.add(itemRepository.updateLikeCount(id, count(id)));
+                }
+            });
+        } catch (Exception e) {
+            dirty.addAll(ids);
+            System.err.println("❌ 좋아요 수 반영 실패: " + e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${item.likes.reconcile-interval-ms:600000}",
+            initialDelayString = "${item.likes.reconcile-interval-ms:600000}")
+    public void reconcile() {
+        if (!ready) return;
+        try {
+            long snapshot = sequence.get();
+            Map<Long, Long> actual = countAll();
+
+            Set<Long> ids = new HashSet<>(counts.keySet());
+            ids.addAll(actual.keySet());
+            long before = corrections.sum();
+            Set<Long> skipped = align(snapshot, actual, ids, true);
+            Integer repaired = transactionTemplate.execute(status -> itemRepository.repairLikeCounts());
+            System.out.println("❤️ 좋아요 수 정합성 확인: 메모리 보정 " + (corrections.sum() - before)
+                    + "건 (변경 중이라 건너뜀 " + skipped.size() + "건), 컬럼 보정 " + repaired + "건");
+        } catch (Exception e) {
+            System.err.println("❌ 좋아요 수 정합성 확인 실패: " + e.getMessage());
+        }
+    }
+
+    /**
+     * snapshot 순번 이전에 시작한 집계(actual)에 맞춰 카운터 보정
+     * 카운터 값을 먼저 읽고 나서 변경 순번/진행 중 여부를 확인한다.
+     * @return 집계 이후 변경됐거나 커밋 반영 중이라 보정하지 않은 게시글
+     */
+    private Set<Long> align(long snapshot, Map<Long, Long> actual, Collection<Long> ids, boolean reconciling) {
+        Set<Long> skipped = new HashSet<>();
+        int corrected = 0;
+        for (Long id : ids) {
+            LongAdder counter = counter(id);
+            long current = counter.sum();
+            if (inFlight.containsKey(id) || lastChange.getOrDefault(id, 0L) > snapshot) {
+                skipped.add(id);
+                continue;
+            }
+            long diff = actual.getOrDefault(id, 0L) - current;
+            if (diff != 0) {
+                counter.add(diff);
+                if (reconciling) {
+                    dirty.add(id);
+                    corrected++;
+                }
+            }
+        }
+        corrections.add(corrected);
+        return skipped;
+    }
+
+    private Map<Long, Long> countAll() {
+        Map<Long, Long> actual = new HashMap<>();
+        itemLikeRepository.countGroupByItem().forEach(row -> actual.put(row.getItemId(), row.getLikeCount()));
+        return actual;
+    }
+
+    private Map<Long, Long> countOf(Collection<Long> itemIds) {
+        Map<Long, Long> actual = new HashMap<>();
+        itemLikeRepository.countByItemIds(itemIds).forEach(row -> actual.put(row.getItemId(), row.getLikeCount()));
+        return actual;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("ready", ready);
+        stats.put("trackedItems", counts.size());
+        stats.put("dirtyItems", dirty.size());
+        stats.put("flushedRows", flushedRows.sum());
+        stats.put("corrections", corrections.sum());
+        stats.put("inFlightItems", inFlight.size());
+        return stats;
+    }
+
+    private LongAdder counter(Long itemId) {
+        return counts.computeIfAbsent(itemId, id -> new LongAdder());
+    }
+}
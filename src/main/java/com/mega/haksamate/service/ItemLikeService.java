@@ -1,20 +1,22 @@
 package com.mega.haksamate.service;
 
 import com.mega.haksamate.dto.FavoriteItemDTO;
-import com.mega.haksamate.entity.Item;
-import com.mega.haksamate.entity.ItemLike;
-import com.mega.haksamate.entity.Profile;
+import com.mega.haksamate.dto.ItemLikeStateDTO;
+import com.mega.haksamate.event.ItemLikeChangedEvent;
 import com.mega.haksamate.repository.ItemLikeRepository;
 import com.mega.haksamate.repository.ItemRepository;
 import com.mega.haksamate.repository.ProfileRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.parameters.P;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
-import java.util.Optional;
-import java.util.UUID;
+import java.time.LocalDateTime;
+import java.util.*;
 
 @Service
 @RequiredArgsConstructor
@@ -23,74 +25,86 @@ public class ItemLikeService {
     private final ItemRepository itemRepository;
     private final ProfileRepository profileRepository;
     private final ItemLikeRepository itemLikeRepository;
+    private final ItemLikeCounter itemLikeCounter;
+    private final UserLikedItemsCache userLikedItemsCache;
+    private final ApplicationEventPublisher eventPublisher;
 
-    // 좋아요 추가
-    @Transactional
-    public void likeItem(Long itemId, UUID userId) {
-        Item item = itemRepository.findById(itemId)
-                .orElseThrow(() -> new RuntimeException("Item not found"));
-        Profile user = profileRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    private static final int FAVORITES_MAX_SIZE = 100;
 
-        if (!itemLikeRepository.existsByItemAndUser(item, user)) {
-            ItemLike like = new ItemLike();
-            like.setItem(item);
-            like.setUser(user);
-            itemLikeRepository.save(like);
+    // 좋아요 추가: INSERT ... ON CONFLICT DO NOTHING 한 문장 (중복 클릭은 변경 없음으로 처리)
+    @Transactional
+    public boolean likeItem(Long itemId, UUID userId) {
+        boolean changed;
+        try {
+            changed = itemLikeRepository.insertIfAbsent(itemId, userId) > 0;
+        } catch (DataIntegrityViolationException e) {
+            throw new RuntimeException("Item or user not found");
         }
+        if (changed) {
+            eventPublisher.publishEvent(ItemLikeChangedEvent.liked(itemId, userId));
+        }
+        return changed;
     }
 
-    // 좋아요 취소
+    // 좋아요 취소: ID 조건 DELETE 한 문장 (이미 취소된 경우 변경 없음)
     @Transactional
-    public void unlikeItem(Long itemId, UUID userId) {
-        Item item = itemRepository.findById(itemId)
-                .orElseThrow(() -> new RuntimeException("Item not found"));
-        Profile user = profileRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        itemLikeRepository.findByItemAndUser(item, user)
-                .ifPresent(itemLikeRepository::delete);
+    public boolean unlikeItem(Long itemId, UUID userId) {
+        boolean changed = itemLikeRepository.deleteByItemIdAndUserId(itemId, userId) > 0;
+        if (changed) {
+            eventPublisher.publishEvent(ItemLikeChangedEvent.unliked(itemId, userId));
+        }
+        return changed;
     }
 
-    // 좋아요 여부
+    // 좋아요 여부 (엔티티 로딩 없이 참조만으로 exists 조회)
+    @Transactional(readOnly = true)
     public boolean isLiked(Long itemId, UUID userId) {
-        Item item = itemRepository.findById(itemId)
-                .orElseThrow(() -> new RuntimeException("Item not found"));
-        Profile user = profileRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        return itemLikeRepository.existsByItemAndUser(item, user);
+        return itemLikeRepository.existsByItemAndUser(
+                itemRepository.getReferenceById(itemId),
+                profileRepository.getReferenceById(userId));
     }
 
-    // 좋아요 개수
-    public Long countLikes(Long itemId) {
-        Item item = itemRepository.findById(itemId)
-                .orElseThrow(() -> new RuntimeException("Item not found"));
-        return itemLikeRepository.countByItem(item);
+    /**
+     * 목록 화면용 좋아요 상태 일괄 조회
+     * 개수는 인메모리 카운터, 좋아요 여부는 사용자별 좋아요 집합 캐시(미스 시 쿼리 1회)에서 가져온다.
+     */
+    public List<ItemLikeStateDTO> getLikeStates(UUID userId, List<Long> itemIds) {
+        List<Long> ids = itemIds.stream().filter(Objects::nonNull).distinct().toList();
+        if (ids.isEmpty()) return List.of();
+
+        Map<Long, Long> counts = itemLikeCounter.counts(ids);
+        Set<Long> liked = userId != null ? userLikedItemsCache.likedItemIds(userId) : Set.of();
+
+        return ids.stream()
+                .map(id -> new ItemLikeStateDTO(id, counts.getOrDefault(id, 0L), liked.contains(id)))
+                .toList();
     }
 
-    // 특정 유저의 좋아요 목록
-    public List<FavoriteItemDTO> getUserFavorites(UUID userId) {
-        Profile user = profileRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    // 좋아요 개수 (인메모리 카운터, DB 조회 없음)
+    public Long countLikes(Long itemId) {
+        return itemLikeCounter.count(itemId);
+    }
 
-        List<ItemLike> likes = itemLikeRepository.findByUser(user);
+    /**
+     * 특정 유저의 좋아요 목록 (최근 좋아요 순)
+     * 1) 게시글 요약 + 대표 이미지 프로젝션 한 번 (키셋 커서: likedAt, likeId)
+     * 2) 좋아요 수는 인메모리 카운터 (초기화 전이면 GROUP BY IN 조회 한 번)
+     * size 가 없으면 전체 목록
+     */
+    @Transactional(readOnly = true)
+    public List<FavoriteItemDTO> getUserFavorites(UUID userId, LocalDateTime cursorLikedAt, Long cursorId, Integer size) {
+        if (cursorLikedAt != null && cursorId == null) {
+            cursorId = Long.MAX_VALUE;
+        }
+        Pageable pageable = (size == null || size <= 0)
+                ? Pageable.unpaged()
+                : PageRequest.of(0, Math.min(size, FAVORITES_MAX_SIZE));
 
-        return likes.stream()
-                .map(like -> {
-                    Item item = like.getItem();
-                    Long count = itemLikeRepository.countByItem(item);
-                    List<String> imagePaths = item.getItemImages().stream()
-                            .map(image -> image.getPhotoPath())
-                            .toList();
+        List<FavoriteItemDTO> favorites = itemLikeRepository.findFavorites(userId, cursorLikedAt, cursorId, pageable);
+        if (favorites.isEmpty()) return favorites;
 
-                    return new FavoriteItemDTO(
-                            item.getItemid(),
-                            item.getTitle(),
-                            item.getPrice(),
-                            count,
-                            imagePaths
-                    );
-                })
-                .toList();
+        Map<Long, Long> counts = itemLikeCounter.counts(favorites.stream().map(FavoriteItemDTO::getItemid).toList());
+        favorites.forEach(favorite -> favorite.setLikeCount(counts.getOrDefault(favorite.getItemid(), 0L)));
+        return favorites;
     }
 }
@@ -0,0 +1,205 @@
+package com.mega.haksamate.service;
+
+import com.mega.haksamate.dto.ItemSnapshotDTO;
+import com.mega.haksamate.dto.ItemSuggestionDTO;
+import com.mega.haksamate.event.ItemChangedEvent;
+import com.mega.haksamate.repository.ItemRepository;
+import com.mega.haksamate.util.HangulUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 게시글 제목 접두어 인덱스 (자동완성용)
+ * 제목의 각 단어 시작 위치부터의 접미 문자열을 키로 정렬 맵에 저장하고, 접두어 범위 조회로 후보를 찾는다.
+ * - 음절 키: "삼성노트북", "노트북"
+ * - 초성 키: "ㅅㅅㄴㅌㅂ", "ㄴㅌㅂ"  → "ㄴㅌㅂ", "노ㅌ" 같은 입력도 매칭
+ * 제목 맨 앞 키와 중간 단어 키는 구분해서 저장하고, 조회는 제목 맨 앞 → 중간 단어 순으로
+ * 최대 MAX_CANDIDATES 개까지만 확인한다 (짧은 입력에도 키 입력마다 전체를 훑지 않음).
+ */
+@Component
+@RequiredArgsConstructor
+public class ItemPrefixIndex {
+
+    private static final char SYLLABLE_KEY = 'S';
+    private static final char CHOSUNG_KEY = 'C';
+    private static final char TITLE_START = '0';
+    private static final char WORD_START = '1';
+    private static final int MAX_KEY_LENGTH = 30;
+    private static final int MAX_CANDIDATES = 500;
+
+    private final ItemRepository itemRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, Set<Long>> keys = new TreeMap<>();
+    private final Map<Long, Entry> entries = new HashMap<>();
+
+    private record Entry(Long itemId, String title, String compactTitle, int[] wordStarts,
+                         String thumbnail, long regdate, List<String> keys) {
+    }
+
+    private record Match(Entry entry, boolean startsAtTitle) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        try {
+            List<ItemSnapshotDTO> snapshots = itemRepository.findAllSnapshots();
+            lock.writeLock().lock();
+            try {
+                keys.clear();
+                entries.clear();
+                snapshots.forEach(this::addEntry);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            System.out.println("🔤 접두어 인덱스 빌드 완료: " + snapshots.size() + "건");
+        } catch (Exception e) {
+            System.err.println("❌ 접두어 인덱스 빌드 실패: " + e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        if (event.type() == ItemChangedEvent.Type.STATUS_CHANGED) return; // 제목/설명 변화 없음
+        lock.writeLock().lock();
+        try {
+            removeEntry(event.itemId());
+            if (event.type() != ItemChangedEvent.Type.DELETED && event.snapshot() != null) {
+                addEntry(event.snapshot());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 제목의 단어 시작 위치에서 keyword 로 시작하는 게시글 (제목 맨 앞 일치 우선, 그다음 최신순)
+     * 확인한 후보가 MAX_CANDIDATES 개를 넘으면 거기서 멈추므로, 아주 짧은 입력의 최신순은 근사값이다.
+     */
+    public List<ItemSuggestionDTO> suggest(String keyword, int limit) {
+        String query = compact(HangulUtils.normalize(keyword));
+        if (query.isEmpty() || limit <= 0) return new ArrayList<>();
+        boolean chosungMode = HangulUtils.containsChosung(query);
+        // 키는 MAX_KEY_LENGTH 까지만 저장되므로 조회 접두어도 같은 길이로 자름 (긴 입력은 아래 재확인에서 전체 비교)
+        String keyQuery = query.length() > MAX_KEY_LENGTH ? query.substring(0, MAX_KEY_LENGTH) : query;
+        String keyText = chosungMode ? HangulUtils.toChosung(keyQuery) : keyQuery;
+        char kind = chosungMode ? CHOSUNG_KEY : SYLLABLE_KEY;
+
+        lock.readLock().lock();
+        try {
+            // 제목 맨 앞 일치 우선, 그다음 최신순 → 상위 limit 개만 힙으로 유지
+            Comparator<Match> order = Comparator
+                    .comparing((Match m) -> !m.startsAtTitle())
+                    .thenComparing(Comparator.comparingLong((Match m) -> m.entry().regdate()).reversed())
+                    .thenComparing(Comparator.comparingLong((Match m) -> m.entry().itemId()).reversed());
+            PriorityQueue<Match> top = new PriorityQueue<>(limit + 1, order.reversed());
+            Set<Long> seen = new HashSet<>();
+
+            int titleMatches = collect(kind + "" + TITLE_START + keyText, query, seen, top, limit);
+            // 제목 맨 앞 일치로 이미 limit 개가 찼으면 중간 단어 일치는 순위에 들 수 없음
+            if (titleMatches < limit && seen.size() < MAX_CANDIDATES) {
+                collect(kind + "" + WORD_START + keyText, query, seen, top, limit);
+            }
+
+            List<Match> matches = new ArrayList<>(top);
+            matches.sort(order);
+            return matches.stream()
+                    .map(m -> new ItemSuggestionDTO(m.entry().itemId(), m.entry().title(), m.entry().thumbnail()))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // prefix 범위의 키를 순서대로 훑으며 실제 글자로 재확인 (seen 이 MAX_CANDIDATES 에 닿으면 중단)
+    private int collect(String prefix, String query, Set<Long> seen, PriorityQueue<Match> top, int limit) {
+        int matched = 0;
+        for (Set<Long> ids : keys.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+            for (Long id : ids) {
+                if (seen.size() >= MAX_CANDIDATES) return matched;
+                if (!seen.add(id)) continue;
+                Entry entry = entries.get(id);
+                if (entry == null) continue;
+                // 초성 키는 "노ㅌ" 처럼 음절이 섞인 입력에 대해 과하게 매칭되므로 실제 글자로 재확인
+                int matchedAt = -1;
+                for (int start : entry.wordStarts()) {
+                    if (HangulUtils.startsWithMixed(entry.compactTitle(), start, query)) {
+                        matchedAt = start;
+                        break;
+                    }
+                }
+                if (matchedAt < 0) continue;
+                if (matchedAt == 0) matched++;
+                top.add(new Match(entry, matchedAt == 0));
+                if (top.size() > limit) top.poll();
+            }
+        }
+        return matched;
+    }
+
+    private void addEntry(ItemSnapshotDTO snapshot) {
+        if (snapshot.getTitle() == null) return;
+        String normalized = HangulUtils.normalize(snapshot.getTitle()).trim();
+
+        // 공백을 제거한 제목과, 그 안에서의 단어 시작 위치
+        StringBuilder compactTitle = new StringBuilder();
+        List<Integer> starts = new ArrayList<>();
+        boolean wordStart = true;
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (Character.isWhitespace(c)) {
+                wordStart = true;
+                continue;
+            }
+            if (wordStart) starts.add(compactTitle.length());
+            compactTitle.append(c);
+            wordStart = false;
+        }
+        String compact = compactTitle.toString();
+        String chosung = HangulUtils.toChosung(compact);
+
+        List<String> entryKeys = new ArrayList<>();
+        for (int start : starts) {
+            int end = Math.min(compact.length(), start + MAX_KEY_LENGTH);
+            char position = start == 0 ? TITLE_START : WORD_START;
+            entryKeys.add(SYLLABLE_KEY + "" + position + compact.substring(start, end));
+            entryKeys.add(CHOSUNG_KEY + "" + position + chosung.substring(start, end));
+        }
+
+        Entry entry = new Entry(
+                snapshot.getItemid(),
+                snapshot.getTitle(),
+                compact,
+                starts.stream().mapToInt(Integer::intValue).toArray(),
+                snapshot.getThumbnail(),
+                snapshot.getRegdate() != null ? snapshot.getRegdate() : 0L,
+                entryKeys
+        );
+        entries.put(entry.itemId(), entry);
+        for (String key : entryKeys) {
+            keys.computeIfAbsent(key, k -> new HashSet<>()).add(entry.itemId());
+        }
+    }
+
+    private void removeEntry(Long itemId) {
+        Entry entry = entries.remove(itemId);
+        if (entry == null) return;
+        for (String key : entry.keys()) {
+            Set<Long> ids = keys.get(key);
+            if (ids == null) continue;
+            ids.remove(itemId);
+            if (ids.isEmpty()) keys.remove(key);
+        }
+    }
+
+    private static String compact(String text) {
+        return text.replaceAll("\\s+", "");
+    }
+}
@@ -0,0 +1,208 @@
+package com.mega.haksamate.service;
+
+import com.mega.haksamate.dto.ItemSnapshotDTO;
+import com.mega.haksamate.dto.ItemSuggestionDTO;
+import com.mega.haksamate.event.ItemChangedEvent;
+import com.mega.haksamate.repository.ItemRepository;
+import com.mega.haksamate.util.HangulUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 게시글 제목/설명 n-gram(유니그램 + 바이그램) 역색인
+ * 한글은 음절 단위로 자르기 때문에 "노트북" → "노트", "트북" 처럼 조사/띄어쓰기와 무관하게 부분 일치가 된다.
+ * 앱 시작 시 전체 빌드, 이후 ItemChangedEvent 로 커밋 후 증분 반영.
+ */
+@Component
+@RequiredArgsConstructor
+public class ItemSearchIndex {
+
+    private static final int TITLE_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int EXACT_TITLE_BONUS = 10;
+
+    private final ItemRepository itemRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+
+    private record Document(Long itemId, String title, String normalizedTitle, String thumbnail, long regdate,
+                            Set<String> titleGrams, Set<String> descriptionGrams) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        try {
+            List<ItemSnapshotDTO> snapshots = itemRepository.findAllSnapshots();
+            lock.writeLock().lock();
+            try {
+                postings.clear();
+                documents.clear();
+                snapshots.forEach(this::addDocument);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            System.out.println("🔎 검색 인덱스 빌드 완료: " + snapshots.size() + "건");
+        } catch (Exception e) {
+            System.err.println("❌ 검색 인덱스 빌드 실패: " + e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        if (event.type() == ItemChangedEvent.Type.STATUS_CHANGED) return; // 제목/설명 변화 없음
+        lock.writeLock().lock();
+        try {
+            removeDocument(event.itemId());
+            if (event.type() != ItemChangedEvent.Type.DELETED && event.snapshot() != null) {
+                addDocument(event.snapshot());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 키워드의 모든 n-gram을 포함하는 게시글을 점수순(제목 > 설명, 동점이면 최신순)으로 최대 limit개 반환
+     */
+    public List<ItemSuggestionDTO> search(String keyword, int limit) {
+        Set<String> queryGrams = queryGrams(keyword);
+        if (queryGrams.isEmpty() || limit <= 0) return new ArrayList<>();
+        String normalizedQuery = normalize(keyword).replaceAll("\\s+", "");
+
+        lock.readLock().lock();
+        try {
+            // 가장 짧은 포스팅 리스트부터 교집합
+            List<Set<Long>> lists = new ArrayList<>();
+            for (String gram : queryGrams) {
+                Set<Long> ids = postings.get(gram);
+                if (ids == null) return new ArrayList<>();
+                lists.add(ids);
+            }
+            lists.sort(Comparator.comparingInt(Set::size));
+            Set<Long> candidates = new HashSet<>(lists.get(0));
+            for (int i = 1; i < lists.size() && !candidates.isEmpty(); i++) {
+                candidates.retainAll(lists.get(i));
+            }
+
+            Comparator<ScoredDocument> order = Comparator
+                    .comparingInt(ScoredDocument::score)
+                    .thenComparingLong(sd -> sd.document().regdate())
+                    .thenComparingLong(sd -> sd.document().itemId());
+            PriorityQueue<ScoredDocument> top = new PriorityQueue<>(order);
+            for (Long id : candidates) {
+                Document doc = documents.get(id);
+                if (doc == null) continue;
+                top.offer(new ScoredDocument(doc, score(doc, queryGrams, normalizedQuery)));
+                if (top.size() > limit) top.poll();
+            }
+
+            List<ScoredDocument> ranked = new ArrayList<>(top);
+            ranked.sort(order.reversed());
+            return ranked.stream()
+                    .map(sd -> new ItemSuggestionDTO(sd.document().itemId(), sd.document().title(), sd.document().thumbnail()))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private record ScoredDocument(Document document, int score) {
+    }
+
+    private int score(Document doc, Set<String> queryGrams, String normalizedQuery) {
+        int score = 0;
+        for (String gram : queryGrams) {
+            if (doc.titleGrams().contains(gram)) score += TITLE_WEIGHT;
+            if (doc.descriptionGrams().contains(gram)) score += DESCRIPTION_WEIGHT;
+        }
+        if (!normalizedQuery.isEmpty() && doc.normalizedTitle().contains(normalizedQuery)) {
+            score += EXACT_TITLE_BONUS;
+        }
+        return score;
+    }
+
+    private void addDocument(ItemSnapshotDTO snapshot) {
+        Set<String> titleGrams = documentGrams(snapshot.getTitle());
+        Set<String> descriptionGrams = documentGrams(snapshot.getDescription());
+        Document doc = new Document(
+                snapshot.getItemid(),
+                snapshot.getTitle(),
+                normalize(snapshot.getTitle()).replaceAll("\\s+", ""),
+                snapshot.getThumbnail(),
+                snapshot.getRegdate() != null ? snapshot.getRegdate() : 0L,
+                titleGrams,
+                descriptionGrams
+        );
+        documents.put(doc.itemId(), doc);
+        for (String gram : titleGrams) {
+            postings.computeIfAbsent(gram, k -> new HashSet<>()).add(doc.itemId());
+        }
+        for (String gram : descriptionGrams) {
+            postings.computeIfAbsent(gram, k -> new HashSet<>()).add(doc.itemId());
+        }
+    }
+
+    private void removeDocument(Long itemId) {
+        Document doc = documents.remove(itemId);
+        if (doc == null) return;
+        removePostings(doc.titleGrams(), itemId);
+        removePostings(doc.descriptionGrams(), itemId);
+    }
+
+    private void removePostings(Set<String> grams, Long itemId) {
+        for (String gram : grams) {
+            Set<Long> ids = postings.get(gram);
+            if (ids == null) continue;
+            ids.remove(itemId);
+            if (ids.isEmpty()) postings.remove(gram);
+        }
+    }
+
+    // 문서 쪽: 1글자 검색도 가능하도록 유니그램 + 바이그램 모두 색인
+    private static Set<String> documentGrams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (String token : tokenize(text)) {
+            for (int i = 0; i < token.length(); i++) {
+                grams.add(token.substring(i, i + 1));
+                if (i + 1 < token.length()) grams.add(token.substring(i, i + 2));
+            }
+        }
+        return grams;
+    }
+
+    // 질의 쪽: 1글자 토큰은 유니그램, 그 외는 바이그램
+    private static Set<String> queryGrams(String text) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (String token : tokenize(text)) {
+            if (token.length() == 1) {
+                grams.add(token);
+            } else {
+                for (int i = 0; i + 1 < token.length(); i++) {
+                    grams.add(token.substring(i, i + 2));
+                }
+            }
+        }
+        return grams;
+    }
+
+    private static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : normalize(text).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) tokens.add(token);
+        }
+        return tokens;
+    }
+
+    private static String normalize(String text) {
+        return HangulUtils.normalize(text);
+    }
+}
@@ -1,26 +1,38 @@
 package com.mega.haksamate.service;
 
+import com.mega.haksamate.dto.ItemBrowseResponseDTO;
+import com.mega.haksamate.dto.ItemFeedResponseDTO;
 import com.mega.haksamate.dto.ItemRegisterRequestDTO;
 import com.mega.haksamate.dto.ItemResponseDTO;
+import com.mega.haksamate.dto.ItemSnapshotDTO;
 import com.mega.haksamate.dto.ItemSuggestionDTO;
+import com.mega.haksamate.dto.ItemSummaryDTO;
 import com.mega.haksamate.entity.*;
+import com.mega.haksamate.event.ItemChangedEvent;
+import com.mega.haksamate.event.ItemImagesStoredEvent;
+import com.mega.haksamate.exception.ItemStatusConflictException;
 import com.mega.haksamate.repository.*;
-import jakarta.persistence.EntityManager;
-import jakarta.persistence.PersistenceContext;
+import com.mega.haksamate.service.ImageStorageService.StagedImage;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.IOException;
-import java.nio.file.*;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
+/**
+ * 게시글 서비스
+ * 파일 I/O 가 커넥션을 오래 잡지 않도록 클래스 단위 트랜잭션 대신 메서드 단위로 트랜잭션을 건다.
+ * (등록/수정/삭제는 TransactionTemplate 으로 DB 작업 구간만 트랜잭션 처리)
+ */
 @Service
 @RequiredArgsConstructor
-@Transactional
 public class ItemService {
 
     private final ItemRepository itemRepository;
@@ -29,37 +41,155 @@ public class ItemService {
 
     private final ItemTransactionRepository itemTransactionRepository;
     private final ItemLikeRepository itemLikeRepository;
+    private final ReviewRepository reviewRepository;
+    private final ReportRepository reportRepository;
+    private final ImageDeletionTaskRepository imageDeletionTaskRepository;
+
+    private final ItemSearchIndex itemSearchIndex;
+    private final ItemPrefixIndex itemPrefixIndex;
+    private final ItemDetailCache itemDetailCache;
+    private final ItemFacetIndex itemFacetIndex;
+    private final ImageStorageService imageStorageService;
+    private final ImageGarbageCollector imageGarbageCollector;
+    private final ChatRoomRepository chatRoomRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private static final int FEED_DEFAULT_SIZE = 20;
+    private static final int FEED_MAX_SIZE = 100;
+    private static final int SUGGESTION_LIMIT = 10;
+    private static final int BATCH_DELETE_MAX_SIZE = 500;
 
-    @PersistenceContext
-    private EntityManager em;
-
-    private final String UPLOAD_DIR = "./frontend/public/uploads";
-    private final String THUMBNAIL_DIR = "./frontend/public/uploads/thumbnails";
-
+    @Transactional(readOnly = true)
     public Item getItemById(Long id) {
         return itemRepository.findById(id)
                 .orElseThrow(() -> new NoSuchElementException("해당 ID의 게시글이 존재하지 않습니다."));
     }
 
+    // 상세 조회는 캐시 우선, 미스일 때만 fetch join 조회 (캐시 히트 시 커넥션을 잡지 않도록 SUPPORTS)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public ItemResponseDTO getItemResponseById(Long id) {
+        return itemDetailCache.get(id, this::loadItemResponse);
+    }
+
+    private ItemResponseDTO loadItemResponse(Long id) {
         Item item = itemRepository.findItemWithSellerAndImagesById(id)
                 .orElseThrow(() -> new NoSuchElementException("해당 ID의 게시글이 존재하지 않습니다."));
         return toResponseDTO(item);
     }
 
-    public List<ItemResponseDTO> getAllItems() {
-        return itemRepository.findAllWithSellerAndImages().stream()
-                .map(this::toResponseDTO)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public List<ItemSummaryDTO> getAllItems() {
+        return itemRepository.findAllSummaries();
     }
 
-    public List<ItemResponseDTO> getItemsBySellerId(UUID userId) {
-        return itemRepository.findBySellerUserIdWithImages(userId).stream()
-                .map(this::toResponseDTO)
+    /**
+     * 커서 기반 피드 조회
+     * 1) (regdate, itemid) 커서 이후의 ID만 size+1개 조회 → 다음 페이지 존재 여부 판단
+     * 2) 해당 페이지 ID들에 대해서만 요약 프로젝션(대표 이미지 포함)을 한 번에 로딩
+     */
+    @Transactional(readOnly = true)
+    public ItemFeedResponseDTO getItemFeed(Long cursorRegdate, Long cursorId, Integer size,
+                                           String status, String category) {
+        int pageSize = (size == null || size <= 0) ? FEED_DEFAULT_SIZE : Math.min(size, FEED_MAX_SIZE);
+
+        Item.Status statusFilter = null;
+        if (status != null && !status.isBlank()) {
+            try {
+                statusFilter = Item.Status.valueOf(status);
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException("유효하지 않은 상태 값입니다: " + status);
+            }
+        }
+        String categoryFilter = (category != null && !category.isBlank()) ? category : null;
+        if (cursorRegdate != null && cursorId == null) {
+            cursorId = Long.MAX_VALUE;
+        }
+
+        List<Long> ids = itemRepository.findFeedItemIds(
+                cursorRegdate, cursorId, statusFilter, categoryFilter, PageRequest.of(0, pageSize + 1));
+
+        boolean hasNext = ids.size() > pageSize;
+        List<Long> pageIds = hasNext ? ids.subList(0, pageSize) : ids;
+        if (pageIds.isEmpty()) {
+            return new ItemFeedResponseDTO(new ArrayList<>(), null, null, false);
+        }
+
+        List<ItemSummaryDTO> items = getSummariesInOrder(pageIds);
+
+        ItemSummaryDTO last = items.isEmpty() ? null : items.get(items.size() - 1);
+        return ItemFeedResponseDTO.builder()
+                .items(items)
+                .nextCursorRegdate(hasNext && last != null ? last.getRegdate() : null)
+                .nextCursorId(hasNext && last != null ? last.getItemid() : null)
+                .hasNext(hasNext)
+                .build();
+    }
+
+    /**
+     * 카테고리/상태/가격대 필터 + 정렬 + 패싯 카운트
+     * 필터링/집계/정렬은 인메모리 패싯 인덱스에서 하고, DB 는 현재 페이지 요약 로딩에만 사용
+     */
+    @Transactional(readOnly = true)
+    public ItemBrowseResponseDTO browseItems(String category, String status, Integer minPrice, Integer maxPrice,
+                                             String sort, Integer page, Integer size) {
+        int pageSize = (size == null || size <= 0) ? FEED_DEFAULT_SIZE : Math.min(size, FEED_MAX_SIZE);
+        int pageNumber = (page == null || page < 0) ? 0 : page;
+
+        Item.Status statusFilter = null;
+        if (status != null && !status.isBlank()) {
+            try {
+                statusFilter = Item.Status.valueOf(status);
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException("유효하지 않은 상태 값입니다: " + status);
+            }
+        }
+        ItemFacetIndex.Sort sortOrder = ItemFacetIndex.Sort.NEWEST;
+        if (sort != null && !sort.isBlank()) {
+            try {
+                sortOrder = ItemFacetIndex.Sort.valueOf(sort.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException("유효하지 않은 정렬 값입니다: " + sort);
+            }
+        }
+
+        ItemFacetIndex.Result result = itemFacetIndex.browse(new ItemFacetIndex.Query(
+                (category != null && !category.isBlank()) ? category : null,
+                statusFilter, minPrice, maxPrice, sortOrder,
+                (int) Math.min(Integer.MAX_VALUE, (long) pageNumber * pageSize), pageSize));
+
+        List<ItemSummaryDTO> items = result.itemIds().isEmpty()
+                ? new ArrayList<>()
+                : getSummariesInOrder(result.itemIds());
+
+        return ItemBrowseResponseDTO.builder()
+                .items(items)
+                .totalCount(result.totalCount())
+                .page(pageNumber)
+                .size(pageSize)
+                .hasNext((long) (pageNumber + 1) * pageSize < result.totalCount())
+                .categoryCounts(result.categoryCounts())
+                .statusCounts(result.statusCounts())
+                .build();
+    }
+
+    // IN 조회는 순서를 보장하지 않으므로 요청한 ID 순서대로 재정렬
+    private List<ItemSummaryDTO> getSummariesInOrder(List<Long> ids) {
+        Map<Long, ItemSummaryDTO> byId = itemRepository.findSummariesByIds(ids).stream()
+                .collect(Collectors.toMap(ItemSummaryDTO::getItemid, dto -> dto));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
     }
 
-    public List<ItemResponseDTO> getItemsBySeller(UUID sellerId) {
+    @Transactional(readOnly = true)
+    public List<ItemSummaryDTO> getItemsBySellerId(UUID userId) {
+        return itemRepository.findSummariesBySellerId(userId);
+    }
+
+    public List<ItemSummaryDTO> getItemsBySeller(UUID sellerId) {
         return getItemsBySellerId(sellerId);
     }
 
@@ -80,7 +210,31 @@ public class ItemService {
                 .build();
     }
 
+    /**
+     * 게시글 등록
+     * 1) 트랜잭션 밖에서 업로드를 스테이징 (업로드 속도와 무관하게 커넥션을 잡지 않음)
+     * 2) 짧은 트랜잭션으로 게시글/이미지 행 저장 + 커밋 직전에 스테이징 파일을 최종 위치로 이동
+     * 3) 이동/커밋이 실패하면 롤백 후 스테이징 파일 또는 이미 옮긴 파일 정리 → 행이 없는 파일만 남을 수 있고 반대는 없음
+     */
     public Long saveItemWithImages(ItemRegisterRequestDTO requestDTO, List<MultipartFile> images) {
+        List<StagedImage> staged = stageImages(images);
+
+        Long itemId;
+        try {
+            itemId = transactionTemplate.execute(status -> {
+                Long id = createItem(requestDTO, staged);
+                promoteImages(id, staged);
+                return id;
+            });
+        } catch (RuntimeException e) {
+            staged.forEach(imageStorageService::revert);
+            throw e;
+        }
+
+        return itemId;
+    }
+
+    private Long createItem(ItemRegisterRequestDTO requestDTO, List<StagedImage> staged) {
         Profile seller = profileRepository.findById(requestDTO.getSellerId())
                 .orElseThrow(() -> new RuntimeException("유저를 찾을 수 없습니다."));
 
@@ -95,13 +249,38 @@ public class ItemService {
                 .regdate(System.currentTimeMillis())
                 .build();
 
-        saveImages(images, item);
+        addImages(staged, item);
 
-        return itemRepository.save(item).getItemid();
+        Item saved = itemRepository.save(item);
+        eventPublisher.publishEvent(ItemChangedEvent.created(ItemSnapshotDTO.from(saved)));
+        return saved.getItemid();
     }
 
-    // 🔧 수정 메서드 개선 - 기존 이미지 유지
+    // 🔧 수정 메서드 개선 - 기존 이미지 유지 (등록과 같은 스테이징 → 짧은 트랜잭션 안에서 이동 → 커밋 순서)
     public void updateItem(Long itemId, ItemRegisterRequestDTO requestDTO, List<MultipartFile> images) {
+        List<StagedImage> staged = stageImages(images);
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                applyItemUpdate(itemId, requestDTO, staged);
+                promoteImages(itemId, staged);
+            });
+        } catch (RuntimeException e) {
+            staged.forEach(imageStorageService::revert);
+            throw e;
+        }
+    }
+
+    private void applyItemUpdate(Long itemId, ItemRegisterRequestDTO requestDTO, List<StagedImage> staged) {
+        // 🔧 상태 변경은 PATCH 와 같은 전이 규칙으로만 (엔티티의 status 컬럼은 updatable = false)
+        // 먼저 전이한 뒤 엔티티를 읽어야 아래 스냅샷에 바뀐 상태가 반영됨
+        if (requestDTO.getStatus() != null) {
+            Item.Status target = parseStatus(requestDTO.getStatus());
+            Item.Status current = itemRepository.findStatusById(itemId)
+                    .orElseThrow(() -> new NoSuchElementException("해당 ID의 게시글이 존재하지 않습니다."));
+            if (current != target) transitionStatus(itemId, target);
+        }
+
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new NoSuchElementException("해당 ID의 게시글이 존재하지 않습니다."));
 
@@ -112,27 +291,18 @@ public class ItemService {
         item.setCategory(requestDTO.getCategory());
         item.setMeetLocation(requestDTO.getMeetLocation());
 
-        // 🔧 상태 업데이트 추가 (requestDTO에 status 필드가 있다면)
-        if (requestDTO.getStatus() != null) {
-            try {
-                item.setStatus(Item.Status.valueOf(requestDTO.getStatus()));
-            } catch (IllegalArgumentException e) {
-                System.err.println("⚠️ 잘못된 상태 값: " + requestDTO.getStatus());
-            }
-        }
-
         // 🔧 기존 이미지 처리 개선
         List<String> keepImagePaths = requestDTO.getItemImages(); // 프론트에서 보낸 유지할 이미지 목록
 
+        List<String> removedPaths = new ArrayList<>();
         if (keepImagePaths != null && !keepImagePaths.isEmpty()) {
             // 🔧 유지할 이미지만 남기고 나머지는 삭제
             List<ItemImage> imagesToRemove = item.getItemImages().stream()
                     .filter(img -> !keepImagePaths.contains(img.getPhotoPath()))
                     .collect(Collectors.toList());
 
-            // 삭제할 이미지들의 파일도 함께 삭제
             for (ItemImage img : imagesToRemove) {
-                deleteImageFile(img.getPhotoPath());
+                removedPaths.add(img.getPhotoPath());
                 item.getItemImages().remove(img);
                 itemImageRepository.delete(img);
             }
@@ -141,102 +311,165 @@ public class ItemService {
         } else {
             // 🔧 유지할 이미지 목록이 없으면 모든 기존 이미지 삭제
             for (ItemImage img : item.getItemImages()) {
-                deleteImageFile(img.getPhotoPath());
+                removedPaths.add(img.getPhotoPath());
             }
             item.getItemImages().clear();
             System.out.println("⚠️ 모든 기존 이미지 삭제됨");
         }
 
         // 🔧 새로운 이미지 추가
-        if (images != null && !images.isEmpty()) {
-            saveImages(images, item);
-            System.out.println("✅ 새로운 이미지 " + images.size() + "개 추가");
+        if (!staged.isEmpty()) {
+            addImages(staged, item);
+            System.out.println("✅ 새로운 이미지 " + staged.size() + "개 추가");
         }
+
+        // 대표 이미지가 바뀌었을 수 있으므로 썸네일 갱신
+        item.setThumbnail(ImageVariantService.firstThumbnail(item));
+
+        // 빠진 이미지 파일은 같은 트랜잭션에서 삭제 대기열에 적재 → GC 가 참조가 없을 때만 삭제
+        imageGarbageCollector.enqueue(removedPaths);
+
+        eventPublisher.publishEvent(ItemChangedEvent.updated(ItemSnapshotDTO.from(item)));
     }
 
-    // 🔧 이미지 파일 삭제 헬퍼 메서드
-    private void deleteImageFile(String photoPath) {
+    // 트랜잭션 밖: 업로드 파일을 스테이징 영역에 저장 (중간 실패 시 이미 저장한 것 정리)
+    private List<StagedImage> stageImages(List<MultipartFile> images) {
+        List<StagedImage> staged = new ArrayList<>();
+        if (images == null || images.isEmpty()) return staged;
         try {
-            if (photoPath != null && photoPath.startsWith("/uploads/")) {
-                String filename = photoPath.substring(photoPath.lastIndexOf("/") + 1);
-                Files.deleteIfExists(Paths.get(UPLOAD_DIR, filename));
-                Files.deleteIfExists(Paths.get(THUMBNAIL_DIR, "thumb_" + filename));
-                System.out.println("🗑️ 이미지 파일 삭제: " + filename);
+            for (MultipartFile file : images) {
+                staged.add(imageStorageService.stage(file));
             }
-        } catch (IOException e) {
-            System.err.println("❌ 이미지 파일 삭제 실패: " + e.getMessage());
+        } catch (RuntimeException e) {
+            staged.forEach(imageStorageService::discard);
+            throw e;
         }
+        return staged;
     }
 
-    private void saveImages(List<MultipartFile> images, Item item) {
-        if (images == null || images.isEmpty()) return;
-
-        Path uploadPath = Paths.get(UPLOAD_DIR);
-        try {
-            Files.createDirectories(uploadPath);
-        } catch (IOException e) {
-            throw new RuntimeException("디렉토리 생성 실패: " + e.getMessage());
+    private void addImages(List<StagedImage> staged, Item item) {
+        for (StagedImage image : staged) {
+            // 같은 사진은 같은 경로로 저장됨 (내용 주소 기반)
+            item.addItemImage(ItemImage.builder()
+                    .photoPath(image.photoPath())
+                    .regdate(LocalDateTime.now())
+                    .build());
         }
+    }
 
-        for (MultipartFile file : images) {
-            try {
-                String ext = file.getOriginalFilename().substring(file.getOriginalFilename().lastIndexOf("."));
-                String saveFileName = UUID.randomUUID().toString().replace("-", "") + ext;
-                Path filePath = uploadPath.resolve(saveFileName);
-                Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
-
-                ItemImage image = ItemImage.builder()
-                        .photoPath("/uploads/" + saveFileName)
-                        .regdate(LocalDateTime.now())
-                        .build();
-                item.addItemImage(image);
-            } catch (IOException e) {
-                throw new RuntimeException("이미지 저장 실패: " + e.getMessage());
-            }
-        }
+    // 트랜잭션 안, 커밋 직전: 스테이징 파일을 최종 위치로 옮김 (실패 시 예외 → 롤백)
+    // 썸네일 변환 요청 이벤트는 커밋 이후에 처리됨
+    private void promoteImages(Long itemId, List<StagedImage> staged) {
+        if (staged.isEmpty()) return;
+        staged.forEach(imageStorageService::promote);
+        eventPublisher.publishEvent(new ItemImagesStoredEvent(itemId,
+                staged.stream().map(StagedImage::photoPath).distinct().toList()));
     }
 
     public void deleteItem(Long itemId) {
-        itemLikeRepository.deleteByItemId(itemId);
-
-        Item item = itemRepository.findById(itemId)
-                .orElseThrow(() -> new NoSuchElementException("해당 ID의 게시글이 존재하지 않습니다."));
+        int deleted = transactionTemplate.execute(status -> deleteItemsInBulk(List.of(itemId)));
+        if (deleted == 0) {
+            throw new NoSuchElementException("해당 ID의 게시글이 존재하지 않습니다.");
+        }
+    }
 
-        for (ItemImage img : item.getItemImages()) {
-            deleteImageFile(img.getPhotoPath());
+    /**
+     * 판매자 게시글 일괄 삭제 (본인 소유가 아닌 ID 는 무시)
+     * @return 실제로 삭제된 게시글 ID
+     */
+    public List<Long> deleteItemsOfSeller(UUID sellerId, List<Long> itemIds) {
+        if (sellerId == null || itemIds == null || itemIds.isEmpty()) return List.of();
+        if (itemIds.size() > BATCH_DELETE_MAX_SIZE) {
+            throw new IllegalArgumentException("한 번에 삭제할 수 있는 게시글은 최대 " + BATCH_DELETE_MAX_SIZE + "개입니다.");
         }
 
-        List<ItemTransaction> transactions = itemTransactionRepository.findAllByItem_Itemid(itemId);
-        itemTransactionRepository.deleteAll(transactions);
-        itemImageRepository.deleteAll(item.getItemImages());
-        itemRepository.delete(item);
+        return transactionTemplate.execute(status -> {
+            List<Long> owned = itemRepository.findIdsOwnedBySeller(sellerId, new HashSet<>(itemIds));
+            if (!owned.isEmpty()) deleteItemsInBulk(owned);
+            return owned;
+        });
     }
 
+    // 게시글 수와 무관하게 고정된 개수의 일괄 DELETE 로 처리 (트랜잭션 안에서 호출)
+    private int deleteItemsInBulk(Collection<Long> itemIds) {
+        // 파일은 커밋 이후 GC 가 참조가 없을 때만 삭제
+        imageDeletionTaskRepository.enqueueImagesOfItems(itemIds);
+        reviewRepository.deleteByItemIds(itemIds);
+        reportRepository.detachItems(itemIds);
+        itemTransactionRepository.deleteByItemIds(itemIds);
+        itemLikeRepository.deleteByItemIds(itemIds);
+        itemImageRepository.deleteByItemIds(itemIds);
+        int deleted = itemRepository.deleteByItemIds(itemIds);
+
+        if (deleted > 0) {
+            itemIds.forEach(id -> eventPublisher.publishEvent(ItemChangedEvent.deleted(id)));
+        }
+        return deleted;
+    }
+
+    /**
+     * 상태 변경: Item.Status.allowedSources() 규칙에 맞을 때만 조건부 UPDATE 한 번으로 변경
+     * 같은 상태로의 변경은 무시, 규칙 위반/동시 변경으로 조건이 안 맞으면 ItemStatusConflictException(409)
+     */
+    @Transactional
     public void updateItemStatus(Long itemId, String status) {
-        Item item = itemRepository.findById(itemId)
-                .orElseThrow(() -> new NoSuchElementException("해당 ID의 게시글이 존재하지 않습니다."));
+        transitionStatus(itemId, parseStatus(status));
+    }
+
+    private void transitionStatus(Long itemId, Item.Status target) {
+        LocalDateTime completedDate = target == Item.Status.거래완료 ? LocalDateTime.now() : null;
+        int updated = itemRepository.transitionStatus(itemId, target, target.allowedSources(), completedDate);
+        if (updated == 0) {
+            Item.Status current = itemRepository.findStatusById(itemId)
+                    .orElseThrow(() -> new NoSuchElementException("해당 ID의 게시글이 존재하지 않습니다."));
+            if (current == target && target != Item.Status.거래완료) return; // 이미 같은 상태
+            throw new ItemStatusConflictException(current, target);
+        }
+        eventPublisher.publishEvent(ItemChangedEvent.statusChanged(itemId, target));
+    }
+
+    // 요청으로 들어온 상태 문자열 검증 → 잘못된 값이면 IllegalArgumentException(400)
+    private static Item.Status parseStatus(String status) {
         try {
-            item.setStatus(Item.Status.valueOf(status));
-        } catch (IllegalArgumentException e) {
-            throw new RuntimeException("유효하지 않은 상태 값입니다: " + status);
+            return Item.Status.valueOf(status);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IllegalArgumentException("유효하지 않은 상태 값입니다: " + status);
         }
     }
 
-    public List<ItemResponseDTO> getCompletedItemsByBuyer(UUID buyerId) {
-        return itemRepository.findCompletedByBuyerUserId(buyerId).stream()
-                .map(this::toResponseDTO)
-                .collect(Collectors.toList());
+    // ✅ 거래 완료 처리: 채팅방의 상대(user1)를 구매자로 등록 (판매중/예약중일 때만, 한 문장으로 처리)
+    @Transactional
+    public void completeItemDeal(Long itemId, Long chatRoomId) {
+        List<String> sources = Item.Status.거래완료.allowedSources().stream().map(Enum::name).toList();
+        int updated = itemRepository.completeDeal(itemId, chatRoomId, sources, LocalDateTime.now());
+        if (updated == 0) {
+            Item.Status current = itemRepository.findStatusById(itemId)
+                    .orElseThrow(() -> new IllegalArgumentException("해당 상품이 없습니다."));
+            if (!chatRoomRepository.existsById(chatRoomId)) {
+                throw new IllegalArgumentException("해당 채팅방이 없습니다.");
+            }
+            throw new ItemStatusConflictException(current, Item.Status.거래완료);
+        }
+        eventPublisher.publishEvent(ItemChangedEvent.statusChanged(itemId, Item.Status.거래완료));
     }
 
     @Transactional(readOnly = true)
+    public List<ItemSummaryDTO> getCompletedItemsByBuyer(UUID buyerId) {
+        return itemRepository.findCompletedSummariesByBuyerId(buyerId);
+    }
+
+    // 검색창 자동완성: DB 대신 인메모리 인덱스 사용 (커넥션을 잡지 않도록 SUPPORTS)
+    // 제목 접두어/초성 매칭을 먼저, 부족하면 n-gram 부분 일치로 채움
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<ItemSuggestionDTO> getItemSuggestionsWithImage(String keyword) {
-        return itemRepository.findTop10ByKeyword(keyword).stream()
-                .map(item -> new ItemSuggestionDTO(
-                        item.getItemid(),
-                        item.getTitle(),
-                        item.getItemImages() != null && !item.getItemImages().isEmpty()
-                                ? item.getItemImages().get(0).getPhotoPath()
-                                : null
-                )).toList();
+        List<ItemSuggestionDTO> suggestions = new ArrayList<>(itemPrefixIndex.suggest(keyword, SUGGESTION_LIMIT));
+        if (suggestions.size() < SUGGESTION_LIMIT) {
+            Set<Long> seen = suggestions.stream().map(ItemSuggestionDTO::getItemId).collect(Collectors.toSet());
+            for (ItemSuggestionDTO dto : itemSearchIndex.search(keyword, SUGGESTION_LIMIT)) {
+                if (suggestions.size() >= SUGGESTION_LIMIT) break;
+                if (seen.add(dto.getItemId())) suggestions.add(dto);
+            }
+        }
+        return suggestions;
     }
 }
@@ -0,0 +1,45 @@
+package com.mega.haksamate.service;
+
+import com.mega.haksamate.dto.ProfileSummaryDTO;
+import com.mega.haksamate.repository.ProfileRepository;
+import com.mega.haksamate.util.SingleFlightCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+/**
+ * 프로필 요약(ID, 이름, 프로필 이미지) 캐시
+ * 프로필은 이 서버에서 수정하지 않으므로 TTL 로 갱신하고, 바뀐 것을 알면 invalidate 로 즉시 반영한다.
+ */
+@Component
+public class ProfileSummaryCache {
+
+    private final ProfileRepository profileRepository;
+    private final SingleFlightCache<UUID, ProfileSummaryDTO> cache;
+
+    public ProfileSummaryCache(ProfileRepository profileRepository,
+                               @Value("${profile.summary-cache.max-size:10000}") int maxSize,
+                               @Value("${profile.summary-cache.ttl-seconds:600}") long ttlSeconds) {
+        this.profileRepository = profileRepository;
+        this.cache = new SingleFlightCache<>(maxSize, ttlSeconds * 1000L);
+    }
+
+    public ProfileSummaryDTO get(UUID profileId) {
+        ProfileSummaryDTO summary = cache.get(profileId, id -> profileRepository.findSummaryById(id).orElse(null));
+        if (summary == null) {
+            throw new NoSuchElementException("사용자 정보를 찾을 수 없습니다.");
+        }
+        return summary;
+    }
+
+    public void invalidate(UUID profileId) {
+        cache.invalidate(profileId);
+    }
+
+    public Map<String, Object> stats() {
+        return cache.stats();
+    }
+}
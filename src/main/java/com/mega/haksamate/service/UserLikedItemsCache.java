@@ -0,0 +1,51 @@
+package com.mega.haksamate.service;
+
+import com.mega.haksamate.event.ItemChangedEvent;
+import com.mega.haksamate.event.ItemLikeChangedEvent;
+import com.mega.haksamate.repository.ItemLikeRepository;
+import com.mega.haksamate.util.SingleFlightCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 사용자별 좋아요한 게시글 ID 집합 캐시
+ * 한 번 조회(쿼리 1회)해 두면 목록 화면의 좋아요 여부 확인은 메모리에서 끝난다.
+ * 좋아요 추가/취소가 커밋되면 해당 사용자 항목만 무효화한다.
+ */
+@Component
+public class UserLikedItemsCache {
+
+    private final ItemLikeRepository itemLikeRepository;
+    private final SingleFlightCache<UUID, Set<Long>> cache;
+
+    public UserLikedItemsCache(ItemLikeRepository itemLikeRepository,
+                               @Value("${item.likes.user-cache.max-size:10000}") int maxSize,
+                               @Value("${item.likes.user-cache.ttl-seconds:600}") long ttlSeconds) {
+        this.itemLikeRepository = itemLikeRepository;
+        this.cache = new SingleFlightCache<>(maxSize, ttlSeconds * 1000L);
+    }
+
+    public Set<Long> likedItemIds(UUID userId) {
+        return cache.get(userId, id -> Set.copyOf(itemLikeRepository.findLikedItemIdsByUserId(id)));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLikeChanged(ItemLikeChangedEvent event) {
+        if (event.userId() != null) cache.invalidate(event.userId());
+    }
+
+    // 게시글 삭제 시 어떤 사용자가 좋아요했는지 모르므로 전체 무효화
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        if (event.type() == ItemChangedEvent.Type.DELETED) cache.invalidateAll();
+    }
+
+    public Map<String, Object> stats() {
+        return cache.stats();
+    }
+}
@@ -0,0 +1,76 @@
+package com.mega.haksamate.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+
+/**
+ * 한글 검색용 유틸 (NFC 정규화, 초성 분해)
+ */
+public final class HangulUtils {
+
+    private static final char SYLLABLE_BASE = 0xAC00;
+    private static final char SYLLABLE_LAST = 0xD7A3;
+    private static final int JUNGSUNG_COUNT = 21;
+    private static final int JONGSUNG_COUNT = 28;
+
+    private static final char[] CHOSUNG = {
+            'ㄱ', 'ㄲ', 'ㄴ', 'ㄷ', 'ㄸ', 'ㄹ', 'ㅁ', 'ㅂ', 'ㅃ', 'ㅅ',
+            'ㅆ', 'ㅇ', 'ㅈ', 'ㅉ', 'ㅊ', 'ㅋ', 'ㅌ', 'ㅍ', 'ㅎ'
+    };
+
+    private HangulUtils() {
+    }
+
+    // NFC 정규화 + 소문자: 자모 분리형(NFD)으로 들어온 한글도 완성형으로 통일
+    public static String normalize(String text) {
+        if (text == null) return "";
+        return Normalizer.normalize(text, Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+    }
+
+    public static boolean isSyllable(char c) {
+        return c >= SYLLABLE_BASE && c <= SYLLABLE_LAST;
+    }
+
+    // 호환용 자음(ㄱ~ㅎ) 여부
+    public static boolean isChosung(char c) {
+        return c >= 'ㄱ' && c <= 'ㅎ';
+    }
+
+    public static boolean containsChosung(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (isChosung(text.charAt(i))) return true;
+        }
+        return false;
+    }
+
+    // 완성형 음절이면 초성, 그 외 문자는 그대로
+    public static char chosungOf(char c) {
+        if (!isSyllable(c)) return c;
+        return CHOSUNG[(c - SYLLABLE_BASE) / (JUNGSUNG_COUNT * JONGSUNG_COUNT)];
+    }
+
+    // "노트북" → "ㄴㅌㅂ", "맥북 m1" → "ㅁㅂ m1"
+    public static String toChosung(String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            sb.append(chosungOf(text.charAt(i)));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * text 가 offset 위치에서 query 로 시작하는지 검사
+     * query 의 초성 글자는 음절의 초성과, 나머지 글자는 그대로 비교 ("노ㅌㅂ" ↔ "노트북")
+     */
+    public static boolean startsWithMixed(String text, int offset, String query) {
+        if (offset + query.length() > text.length()) return false;
+        for (int i = 0; i < query.length(); i++) {
+            char q = query.charAt(i);
+            char t = text.charAt(offset + i);
+            if (q == t) continue;
+            if (isChosung(q) && chosungOf(t) == q) continue;
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,150 @@
+package com.mega.haksamate.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 크기(LRU) + TTL 제한이 있는 read-through 캐시
+ * 같은 키에 대한 동시 미스는 하나의 로딩으로 합쳐진다(single-flight).
+ * 로딩 중 invalidate 된 키는 로딩 결과를 캐시에 넣지 않는다.
+ */
+public class SingleFlightCache<K, V> {
+
+    private final int maxSize;
+    private final long ttlNanos;
+
+    private final Map<K, CacheEntry<V>> entries;
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    private record CacheEntry<V>(V value, long expiresAt) {
+    }
+
+    public SingleFlightCache(int maxSize, long ttlMillis) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, CacheEntry<V>> eldest) {
+                if (size() > SingleFlightCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public V get(K key, Function<K, V> loader) {
+        V cached = getIfPresent(key);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+
+        CompletableFuture<V> own = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, own);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+
+        try {
+            // putIfAbsent 직전에 다른 스레드가 로딩을 끝냈을 수 있음
+            V value = getIfPresent(key);
+            if (value == null) {
+                value = loader.apply(key);
+                if (value != null) {
+                    putIfStillLoading(key, own, value);
+                }
+            }
+            own.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+
+    public void invalidate(K key) {
+        synchronized (entries) {
+            inFlight.remove(key);
+            entries.remove(key);
+        }
+        invalidations.increment();
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            inFlight.clear();
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public Map<String, Object> stats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", size());
+        stats.put("maxSize", maxSize);
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRate", hitCount + missCount == 0 ? 0.0 : (double) hitCount / (hitCount + missCount));
+        stats.put("evictions", evictions.sum());
+        stats.put("expirations", expirations.sum());
+        stats.put("coalescedLoads", coalesced.sum());
+        stats.put("invalidations", invalidations.sum());
+        return stats;
+    }
+
+    private V getIfPresent(K key) {
+        synchronized (entries) {
+            CacheEntry<V> entry = entries.get(key);
+            if (entry == null) return null;
+            if (System.nanoTime() - entry.expiresAt() > 0) {
+                entries.remove(key);
+                expirations.increment();
+                return null;
+            }
+            return entry.value();
+        }
+    }
+
+    // 로딩 도중 invalidate 되었다면(inFlight 에서 빠짐) 오래된 값일 수 있으므로 저장하지 않음
+    private void putIfStillLoading(K key, CompletableFuture<V> loading, V value) {
+        synchronized (entries) {
+            if (inFlight.get(key) == loading) {
+                entries.put(key, new CacheEntry<>(value, System.nanoTime() + ttlNanos));
+            }
+        }
+    }
+
+    private V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+}
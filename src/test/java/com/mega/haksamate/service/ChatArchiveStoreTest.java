@@ -0,0 +1,91 @@
+package com.mega.haksamate.service;
+
+import com.mega.haksamate.dto.MessageResponseDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChatArchiveStoreTest {
+
+	private static final Long ROOM = 7L;
+	private static final LocalDateTime BASE = LocalDateTime.of(2024, 3, 1, 12, 0);
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void appendedMessagesReadBackAcrossBlocks() throws IOException {
+		ChatArchiveStore store = new ChatArchiveStore(dir.toString(), 4);
+		List<MessageResponseDTO> messages = messages(1, 300);
+		store.append(ROOM, messages);
+
+		assertEquals(300L, store.lastArchivedId(ROOM));
+		assertEquals(messages, store.readAll(ROOM));
+		assertEquals(messages.subList(250, 260), store.readAfter(ROOM, 250, 10));
+		assertEquals(0L, store.lastArchivedId(99L));
+		assertTrue(store.readAll(99L).isEmpty());
+	}
+
+	@Test
+	void readBeforeReturnsNewestFirstBeforeCursor() throws IOException {
+		ChatArchiveStore store = new ChatArchiveStore(dir.toString(), 4);
+		List<MessageResponseDTO> messages = messages(1, 300);
+		store.append(ROOM, messages);
+
+		List<MessageResponseDTO> page = store.readBefore(ROOM, BASE.plusSeconds(200), 201L, 5);
+		assertEquals(List.of(200L, 199L, 198L, 197L, 196L), page.stream().map(MessageResponseDTO::getMessageId).toList());
+
+		List<MessageResponseDTO> latest = store.readBefore(ROOM, null, null, 3);
+		assertEquals(List.of(300L, 299L, 298L), latest.stream().map(MessageResponseDTO::getMessageId).toList());
+	}
+
+	@Test
+	void rejectsAlreadyArchivedIds() throws IOException {
+		ChatArchiveStore store = new ChatArchiveStore(dir.toString(), 4);
+		store.append(ROOM, messages(1, 10));
+
+		assertThrows(IllegalStateException.class, () -> store.append(ROOM, messages(10, 20)));
+	}
+
+	@Test
+	void tailWithoutIndexEntryIsIgnoredAndTruncated() throws IOException {
+		ChatArchiveStore store = new ChatArchiveStore(dir.toString(), 4);
+		List<MessageResponseDTO> first = messages(1, 150);
+		store.append(ROOM, first);
+
+		// 블록은 썼지만 인덱스 항목을 다 쓰기 전에 죽은 상황
+		Files.write(dir.resolve(ROOM + ".seg"), new byte[]{1, 2, 3, 4, 5}, StandardOpenOption.APPEND);
+		Files.write(dir.resolve(ROOM + ".idx"), new byte[]{9, 9, 9}, StandardOpenOption.APPEND);
+
+		ChatArchiveStore reopened = new ChatArchiveStore(dir.toString(), 4);
+		assertEquals(150L, reopened.lastArchivedId(ROOM));
+		assertEquals(first, reopened.readAll(ROOM));
+
+		List<MessageResponseDTO> second = messages(151, 160);
+		reopened.append(ROOM, second);
+
+		List<MessageResponseDTO> all = new ArrayList<>(first);
+		all.addAll(second);
+		assertEquals(all, new ChatArchiveStore(dir.toString(), 4).readAll(ROOM));
+	}
+
+	private static List<MessageResponseDTO> messages(long fromId, long toId) {
+		UUID[] senders = {UUID.randomUUID(), UUID.randomUUID()};
+		List<MessageResponseDTO> messages = new ArrayList<>();
+		for (long id = fromId; id <= toId; id++) {
+			messages.add(new MessageResponseDTO(id, ROOM, senders[(int) (id % 2)],
+					id % 10 == 0 ? "" : "메시지 " + id + " 😀", BASE.plusSeconds(id)));
+		}
+		return messages;
+	}
+}
@@ -0,0 +1,162 @@
+package com.mega.haksamate.service;
+
+import com.mega.haksamate.dto.MessageDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ChatMessageBatcherTest {
+
+	private static final String ROOM_TOPIC = "/topic/chat/1";
+
+	private final NamedParameterJdbcTemplate jdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+	private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+	private final SimpMessagingTemplate messagingTemplate = mock(SimpMessagingTemplate.class);
+	// linger 를 길게 잡아서 한 배치로 모이게 함, 커밋을 기다리지 않는 모드 (실패 알림 확인용)
+	private final ChatMessageBatcher batcher = new ChatMessageBatcher(jdbcTemplate, transactionTemplate, messagingTemplate,
+			200, 100, 100, false);
+
+	private final AtomicLong nextId = new AtomicLong(100);
+	// (chatroomid, client_message_id) 유니크 제약 흉내: 이미 저장된 clientMessageId → message_id
+	private final Map<String, Long> stored = new ConcurrentHashMap<>();
+	private volatile boolean reportNoInfo;
+	private volatile boolean poisonAsExecuteFailed;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		when(transactionTemplate.execute(any())).thenAnswer(inv -> {
+			Map<String, Long> before = Map.copyOf(stored);
+			try {
+				return inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null);
+			} catch (RuntimeException e) {
+				stored.keySet().retainAll(before.keySet()); // 롤백
+				throw e;
+			}
+		});
+		when(jdbcTemplate.queryForList(anyString(), any(SqlParameterSource.class), eq(Long.class))).thenAnswer(inv -> {
+			int count = (Integer) inv.<SqlParameterSource>getArgument(1).getValue("count");
+			List<Long> ids = new ArrayList<>();
+			for (int i = 0; i < count; i++) ids.add(nextId.getAndIncrement());
+			return ids;
+		});
+		when(jdbcTemplate.batchUpdate(anyString(), any(SqlParameterSource[].class))).thenAnswer(inv -> {
+			SqlParameterSource[] rows = inv.getArgument(1);
+			int[] counts = new int[rows.length];
+			if (!inv.<String>getArgument(0).startsWith("INSERT INTO chat_message")) {
+				Arrays.fill(counts, 1);
+				return counts;
+			}
+			for (int i = 0; i < rows.length; i++) {
+				if ("poison".equals(rows[i].getValue("content"))) {
+					if (!poisonAsExecuteFailed || rows.length == 1) throw new DataIntegrityViolationException("poison");
+					counts[i] = Statement.EXECUTE_FAILED;
+					continue;
+				}
+				boolean inserted = stored.putIfAbsent((String) rows[i].getValue("clientMessageId"),
+						(Long) rows[i].getValue("messageId")) == null;
+				counts[i] = reportNoInfo ? Statement.SUCCESS_NO_INFO : inserted ? 1 : 0;
+			}
+			return counts;
+		});
+		doAnswer(inv -> {
+			Long messageId = stored.get((String) inv.<SqlParameterSource>getArgument(1).getValue("clientMessageId"));
+			if (messageId != null) {
+				ResultSet rs = mock(ResultSet.class);
+				when(rs.getLong("message_id")).thenReturn(messageId);
+				when(rs.getTimestamp("sent_at")).thenReturn(Timestamp.valueOf(LocalDateTime.now()));
+				inv.<RowCallbackHandler>getArgument(2).processRow(rs);
+			}
+			return null;
+		}).when(jdbcTemplate).query(anyString(), any(SqlParameterSource.class), any(RowCallbackHandler.class));
+		batcher.start();
+	}
+
+	@Test
+	void poisonMessageFailsAloneAfterSplittingAndSenderSessionIsNotified() throws InterruptedException {
+		MessageDTO first = submit("c-1", "안녕", "s-1");
+		MessageDTO second = submit("c-2", "반가워", "s-1");
+		MessageDTO poison = submit("c-3", "poison", "s-3");
+		MessageDTO fourth = submit("c-4", "잘 가", "s-1");
+		batcher.stop();
+
+		verify(messagingTemplate).convertAndSend(ROOM_TOPIC, first);
+		verify(messagingTemplate).convertAndSend(ROOM_TOPIC, second);
+		verify(messagingTemplate).convertAndSend(ROOM_TOPIC, fourth);
+		verify(messagingTemplate, never()).convertAndSend(ROOM_TOPIC, poison);
+		verify(messagingTemplate).convertAndSendToUser(eq("s-3"), eq("/queue/chat.error"), any(),
+				argThat((Map<String, Object> headers) -> "s-3".equals(headers.get("simpSessionId"))));
+		assertEquals(1L, batcher.stats().get("failedMessages"));
+		assertEquals(3L, batcher.stats().get("messages"));
+		assertEquals(2L, batcher.stats().get("splitRetries"));
+	}
+
+	@Test
+	void executeFailedRowIsRetriedAsDataError() throws InterruptedException {
+		poisonAsExecuteFailed = true;
+		MessageDTO first = submit("c-1", "안녕", "s-1");
+		submit("c-2", "poison", "s-2");
+		batcher.stop();
+
+		verify(messagingTemplate).convertAndSend(ROOM_TOPIC, first);
+		assertEquals(1L, batcher.stats().get("failedMessages"));
+		assertEquals(1L, batcher.stats().get("splitRetries"));
+		assertEquals(0L, batcher.stats().get("duplicateMessages"));
+	}
+
+	@Test
+	void conflictingRowIsAnsweredWithOriginalId() throws InterruptedException {
+		stored.put("c-dup", 7L);
+		MessageDTO resent = submit("c-dup", "안녕", "s-1");
+		batcher.stop();
+
+		assertEquals(7L, resent.getMessageId());
+		verify(messagingTemplate, never()).convertAndSend(ROOM_TOPIC, resent);
+		assertEquals(1L, batcher.stats().get("duplicateMessages"));
+	}
+
+	@Test
+	void successNoInfoIsCheckedAgainstStoredRow() throws InterruptedException {
+		reportNoInfo = true;
+		stored.put("c-dup", 7L);
+		MessageDTO fresh = submit("c-new", "안녕", "s-1");
+		MessageDTO resent = submit("c-dup", "안녕", "s-1");
+		batcher.stop();
+
+		verify(messagingTemplate).convertAndSend(ROOM_TOPIC, fresh);
+		verify(messagingTemplate, never()).convertAndSend(ROOM_TOPIC, resent);
+		assertEquals(stored.get("c-new"), fresh.getMessageId());
+		assertEquals(7L, resent.getMessageId());
+		assertEquals(1L, batcher.stats().get("duplicateMessages"));
+	}
+
+	private MessageDTO submit(String clientMessageId, String content, String sessionId) {
+		MessageDTO message = new MessageDTO();
+		message.setChatRoomId(1L);
+		message.setSenderId(UUID.randomUUID());
+		message.setClientMessageId(clientMessageId);
+		message.setContent(content);
+		return batcher.submit(message, sessionId);
+	}
+}
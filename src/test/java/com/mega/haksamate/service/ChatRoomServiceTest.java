@@ -0,0 +1,107 @@
+package com.mega.haksamate.service;
+
+import com.mega.haksamate.dto.ChatReadDTO;
+import com.mega.haksamate.dto.ChatRoomMembersDTO;
+import com.mega.haksamate.event.ChatReadEvent;
+import com.mega.haksamate.repository.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ChatRoomServiceTest {
+
+	private static final Long ROOM = 1L;
+	private static final UUID USER = UUID.randomUUID();
+
+	private final ChatMessageRepository chatMessageRepository = mock(ChatMessageRepository.class);
+	private final ChatRoomSummaryRepository chatRoomSummaryRepository = mock(ChatRoomSummaryRepository.class);
+	private final ChatReadWatermarkRepository chatReadWatermarkRepository = mock(ChatReadWatermarkRepository.class);
+	private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+	private final ChatMembershipCache chatMembershipCache = mock(ChatMembershipCache.class);
+	private final ChatRoomService chatRoomService = new ChatRoomService(chatMessageRepository, mock(ChatRoomRepository.class),
+			mock(ProfileRepository.class), chatRoomSummaryRepository, chatReadWatermarkRepository,
+			mock(TransactionTemplate.class), eventPublisher, mock(SimpMessagingTemplate.class), chatMembershipCache,
+			mock(ProfileSummaryCache.class));
+
+	@BeforeEach
+	void setUp() {
+		when(chatMembershipCache.members(ROOM)).thenReturn(new ChatRoomMembersDTO(ROOM, USER, "나", UUID.randomUUID(), "상대"));
+		when(chatRoomSummaryRepository.findLastMessageId(ROOM)).thenReturn(50L);
+		when(chatMessageRepository.findChatRoomIdByMessageId(anyLong())).thenReturn(Optional.of(ROOM));
+		when(chatReadWatermarkRepository.advance(eq(ROOM), eq(USER), anyLong())).thenReturn(1);
+		when(chatRoomSummaryRepository.recountUnread(eq(ROOM), eq(USER), anyLong())).thenReturn(1);
+	}
+
+	@Test
+	void advancesWatermarkAndNotifiesOnce() {
+		ChatReadDTO read = chatRoomService.markReadUpTo(ROOM, USER, 40L);
+
+		assertEquals(40L, read.getLastReadMessageId());
+		verify(chatReadWatermarkRepository).advance(ROOM, USER, 40L);
+		verify(chatRoomSummaryRepository).recountUnread(ROOM, USER, 40L);
+		verify(eventPublisher).publishEvent(new ChatReadEvent(ROOM, USER, 40L));
+	}
+
+	@Test
+	void futureOrMissingIdIsClampedToLastMessage() {
+		assertEquals(50L, chatRoomService.markReadUpTo(ROOM, USER, 1_000L).getLastReadMessageId());
+		assertEquals(50L, chatRoomService.markReadUpTo(ROOM, USER, null).getLastReadMessageId());
+
+		verify(chatReadWatermarkRepository, times(2)).advance(ROOM, USER, 50L);
+		verify(chatReadWatermarkRepository, never()).advance(ROOM, USER, 1_000L);
+	}
+
+	@Test
+	void staleReadDoesNotRecountOrNotify() {
+		when(chatReadWatermarkRepository.advance(eq(ROOM), eq(USER), anyLong())).thenReturn(0);
+
+		chatRoomService.markReadUpTo(ROOM, USER, 30L);
+
+		verify(chatRoomSummaryRepository, never()).recountUnread(any(), any(), any());
+		verify(eventPublisher, never()).publishEvent(any(Object.class));
+	}
+
+	@Test
+	void missingSummaryRowIsBackfilled() {
+		when(chatRoomSummaryRepository.recountUnread(eq(ROOM), eq(USER), anyLong())).thenReturn(0);
+
+		chatRoomService.markReadUpTo(ROOM, USER, 40L);
+
+		verify(chatRoomSummaryRepository).backfillRoom(ROOM);
+	}
+
+	@Test
+	void messageOfAnotherRoomOrNonPositiveIdIsRejected() {
+		when(chatMessageRepository.findChatRoomIdByMessageId(40L)).thenReturn(Optional.of(2L));
+
+		assertThrows(IllegalArgumentException.class, () -> chatRoomService.markReadUpTo(ROOM, USER, 40L));
+		assertThrows(IllegalArgumentException.class, () -> chatRoomService.markReadUpTo(ROOM, USER, 0L));
+		assertThrows(IllegalArgumentException.class, () -> chatRoomService.markReadUpTo(ROOM, USER, -5L));
+		verify(chatReadWatermarkRepository, never()).advance(any(), any(), any());
+	}
+
+	@Test
+	void archivedMessageOfThisRoomIsAccepted() {
+		when(chatMessageRepository.findChatRoomIdByMessageId(3L)).thenReturn(Optional.empty()); // 보관되어 행이 없음
+
+		assertEquals(3L, chatRoomService.markReadUpTo(ROOM, USER, 3L).getLastReadMessageId());
+	}
+
+	@Test
+	void nonMemberAndEmptyRoomAreHandled() {
+		assertThrows(IllegalArgumentException.class, () -> chatRoomService.markReadUpTo(ROOM, UUID.randomUUID(), 40L));
+
+		when(chatRoomSummaryRepository.findLastMessageId(ROOM)).thenReturn(null);
+		assertNull(chatRoomService.markReadUpTo(ROOM, USER, 40L).getLastReadMessageId());
+		verify(chatReadWatermarkRepository, never()).advance(any(), any(), any());
+	}
+}
@@ -0,0 +1,106 @@
+package com.mega.haksamate.service;
+
+import com.mega.haksamate.dto.MessageDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChatSendDeduplicatorTest {
+
+	private final ChatSendDeduplicator deduplicator = new ChatSendDeduplicator(120, 2);
+	private final AtomicInteger sends = new AtomicInteger();
+
+	@Test
+	void resentFrameGetsFirstAck() {
+		MessageDTO first = deduplicator.sendOnce(1L, "c-1", () -> stored(100L));
+		MessageDTO resent = deduplicator.sendOnce(1L, "c-1", () -> stored(200L));
+
+		assertEquals(100L, resent.getMessageId());
+		assertSame(first, resent);
+		assertEquals(1, sends.get());
+		assertEquals(1L, deduplicator.stats().get("duplicates"));
+	}
+
+	@Test
+	void sameIdInAnotherRoomOrWithoutIdIsSentAgain() {
+		deduplicator.sendOnce(1L, "c-1", () -> stored(100L));
+		deduplicator.sendOnce(2L, "c-1", () -> stored(101L));
+		deduplicator.sendOnce(1L, null, () -> stored(102L));
+		deduplicator.sendOnce(1L, null, () -> stored(103L));
+
+		assertEquals(4, sends.get());
+	}
+
+	@Test
+	void failedSendIsRetried() {
+		assertThrows(IllegalStateException.class, () -> deduplicator.sendOnce(1L, "c-1", () -> {
+			sends.incrementAndGet();
+			throw new IllegalStateException("저장 실패");
+		}));
+		assertEquals(100L, deduplicator.sendOnce(1L, "c-1", () -> stored(100L)).getMessageId());
+		assertEquals(2, sends.get());
+	}
+
+	@Test
+	void ackWithoutMessageIdIsNotCached() {
+		assertNull(deduplicator.sendOnce(1L, "c-1", () -> stored(null)).getMessageId());
+		assertEquals(100L, deduplicator.sendOnce(1L, "c-1", () -> stored(100L)).getMessageId());
+		assertEquals(2, sends.get());
+	}
+
+	@Test
+	void oldestIdIsEvictedPastPerRoomLimit() {
+		deduplicator.sendOnce(1L, "c-1", () -> stored(100L));
+		deduplicator.sendOnce(1L, "c-2", () -> stored(101L));
+		deduplicator.sendOnce(1L, "c-3", () -> stored(102L));
+		assertEquals(1L, deduplicator.stats().get("evictions"));
+
+		assertEquals(103L, deduplicator.sendOnce(1L, "c-1", () -> stored(103L)).getMessageId());
+		assertEquals(102L, deduplicator.sendOnce(1L, "c-3", () -> stored(104L)).getMessageId());
+	}
+
+	@Test
+	void concurrentResendWaitsForOriginal() throws Exception {
+		CountDownLatch sending = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<MessageDTO> original = executor.submit(() -> deduplicator.sendOnce(1L, "c-1", () -> {
+				sending.countDown();
+				await(release);
+				return stored(100L);
+			}));
+			assertTrue(sending.await(5, TimeUnit.SECONDS));
+			Future<MessageDTO> resent = executor.submit(() -> deduplicator.sendOnce(1L, "c-1", () -> stored(200L)));
+			long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+			while ((long) deduplicator.stats().get("duplicates") == 0L && System.nanoTime() < deadline) {
+				Thread.sleep(1);
+			}
+			release.countDown();
+
+			assertEquals(100L, original.get(5, TimeUnit.SECONDS).getMessageId());
+			assertEquals(100L, resent.get(5, TimeUnit.SECONDS).getMessageId());
+			assertEquals(1, sends.get());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private MessageDTO stored(Long messageId) {
+		sends.incrementAndGet();
+		MessageDTO message = new MessageDTO();
+		message.setMessageId(messageId);
+		return message;
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
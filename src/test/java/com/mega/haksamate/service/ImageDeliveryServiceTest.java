@@ -0,0 +1,47 @@
+package com.mega.haksamate.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageDeliveryServiceTest {
+
+	private static final long SIZE = 1000;
+
+	@Test
+	void parsesSingleRanges() {
+		assertRange(0, 99, "bytes=0-99");
+		assertRange(500, 999, "bytes=500-");
+		assertRange(900, 999, "bytes=-100");
+		assertRange(0, 999, "bytes=-5000");
+		assertRange(0, 999, "bytes=0-5000");
+		assertRange(10, 20, "BYTES = 10 - 20");
+		assertRange(0, 999, "bytes=0-99999999999999999999");
+	}
+
+	@Test
+	void wellFormedButOutOfRangeIsUnsatisfiable() {
+		assertSame(ImageDeliveryService.UNSATISFIABLE, ImageDeliveryService.parseRange("bytes=1000-", SIZE));
+		assertSame(ImageDeliveryService.UNSATISFIABLE, ImageDeliveryService.parseRange("bytes=5000-6000", SIZE));
+		assertSame(ImageDeliveryService.UNSATISFIABLE, ImageDeliveryService.parseRange("bytes=-0", SIZE));
+		assertSame(ImageDeliveryService.UNSATISFIABLE, ImageDeliveryService.parseRange("bytes=0-", 0));
+	}
+
+	@Test
+	void malformedOrUnsupportedRangeIsIgnored() {
+		assertNull(ImageDeliveryService.parseRange("bytes=abc", SIZE));
+		assertNull(ImageDeliveryService.parseRange("bytes=-", SIZE));
+		assertNull(ImageDeliveryService.parseRange("bytes=5-1", SIZE));
+		assertNull(ImageDeliveryService.parseRange("bytes=0-1,5-6", SIZE));
+		assertNull(ImageDeliveryService.parseRange("items=0-1", SIZE));
+		assertNull(ImageDeliveryService.parseRange("", SIZE));
+	}
+
+	private static void assertRange(long start, long end, String header) {
+		ImageDeliveryService.ByteRange range = ImageDeliveryService.parseRange(header, SIZE);
+		assertNotNull(range, header);
+		assertNotSame(ImageDeliveryService.UNSATISFIABLE, range, header);
+		assertEquals(start, range.start(), header);
+		assertEquals(end, range.end(), header);
+	}
+}
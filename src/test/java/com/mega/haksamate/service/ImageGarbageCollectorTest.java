@@ -0,0 +1,95 @@
+package com.mega.haksamate.service;
+
+import com.mega.haksamate.repository.ImageDeletionTaskRepository;
+import com.mega.haksamate.repository.ItemImageRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ImageGarbageCollectorTest {
+
+	private static final long HOUR = 3_600_000L;
+
+	private final ItemImageRepository itemImageRepository = mock(ItemImageRepository.class);
+	private final ImageStorageService imageStorageService = mock(ImageStorageService.class);
+	private final ImageGarbageCollector collector = new ImageGarbageCollector(mock(ImageDeletionTaskRepository.class),
+			itemImageRepository, imageStorageService, 60);
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void unreferencedFileIsReleasedUnderPathLockInsteadOfDeletedDirectly() throws IOException {
+		long cutoff = System.currentTimeMillis() - HOUR;
+		Path orphan = oldFile("a.jpg", cutoff);
+		oldFile("b.jpg", cutoff);
+		when(itemImageRepository.findReferencedPhotoPaths(anyCollection())).thenReturn(List.of("/uploads/b.jpg"));
+		when(imageStorageService.releaseOrphan(anyString(), anyLong())).thenReturn(true);
+
+		assertEquals(2, collector.scan(dir, "", cutoff));
+
+		verify(imageStorageService).releaseOrphan("/uploads/a.jpg", cutoff);
+		verify(imageStorageService, never()).releaseOrphan(eq("/uploads/b.jpg"), anyLong());
+		assertTrue(Files.exists(orphan)); // 삭제는 잠금 안에서 ImageStorageService 가 담당
+		assertEquals(1L, collector.stats().get("orphansRemoved"));
+	}
+
+	@Test
+	void pathKeptAtRecheckIsNotCountedAsRemoved() throws IOException {
+		long cutoff = System.currentTimeMillis() - HOUR;
+		oldFile("a.jpg", cutoff);
+		when(itemImageRepository.findReferencedPhotoPaths(anyCollection())).thenReturn(List.of());
+		when(imageStorageService.releaseOrphan(anyString(), anyLong())).thenReturn(false);
+
+		collector.scan(dir, "", cutoff);
+
+		assertEquals(0L, collector.stats().get("orphansRemoved"));
+	}
+
+	@Test
+	void variantFileIsReleasedByItsOriginalPath() throws IOException {
+		long cutoff = System.currentTimeMillis() - HOUR;
+		oldFile("thumb_a.jpg", cutoff);
+		when(itemImageRepository.findReferencedPhotoPaths(anyCollection())).thenReturn(List.of());
+
+		collector.scan(dir, "thumb_", cutoff);
+
+		verify(imageStorageService).releaseOrphan("/uploads/a.jpg", cutoff);
+	}
+
+	@Test
+	void recentlyWrittenFileIsNotACandidate() throws IOException {
+		long cutoff = System.currentTimeMillis() - HOUR;
+		Files.writeString(dir.resolve("a.jpg"), "x");
+
+		collector.scan(dir, "", cutoff);
+
+		verifyNoInteractions(itemImageRepository, imageStorageService);
+	}
+
+	@Test
+	void leftoverTempFileIsDeletedWithoutLookup() throws IOException {
+		long cutoff = System.currentTimeMillis() - HOUR;
+		Path tmp = oldFile("thumb_a.jpg.tmp", cutoff);
+
+		collector.scan(dir, "thumb_", cutoff);
+
+		assertFalse(Files.exists(tmp));
+		verifyNoInteractions(itemImageRepository, imageStorageService);
+	}
+
+	private Path oldFile(String name, long cutoff) throws IOException {
+		Path file = Files.writeString(dir.resolve(name), "x");
+		Files.setLastModifiedTime(file, FileTime.fromMillis(cutoff - HOUR));
+		return file;
+	}
+}
@@ -0,0 +1,218 @@
+package com.mega.haksamate.service;
+
+import com.mega.haksamate.repository.ItemImageRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ImageStorageServiceTest {
+
+	private static final long HOUR = 3_600_000L;
+	private static final String NAME = "a".repeat(64) + ".jpg";
+	private static final String PHOTO_PATH = "/uploads/" + NAME;
+
+	private final ItemImageRepository itemImageRepository = mock(ItemImageRepository.class);
+	private final ImageVariantService imageVariantService = mock(ImageVariantService.class);
+	private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+	private final List<String> calls = new ArrayList<>();
+
+	@TempDir
+	Path dir;
+
+	private ImageStorageService storage;
+
+	@BeforeEach
+	void setUp() {
+		storage = new ImageStorageService(itemImageRepository, imageVariantService, transactionTemplate,
+				dir.resolve("uploads"), dir.resolve("staging"));
+		when(transactionTemplate.execute(any())).thenAnswer(inv -> {
+			calls.add("tx");
+			return inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null);
+		});
+		when(itemImageRepository.lockPhotoPath(anyLong())).thenAnswer(inv -> {
+			calls.add("lock");
+			return 1;
+		});
+		when(imageVariantService.variantFiles(anyString())).thenReturn(List.of());
+	}
+
+	@Test
+	void releaseOrphanRechecksReferenceUnderLockThenDeletesWithVariants() throws IOException {
+		long cutoff = System.currentTimeMillis() - HOUR;
+		Path original = uploaded(cutoff - HOUR);
+		when(itemImageRepository.existsByPhotoPath(PHOTO_PATH)).thenAnswer(inv -> {
+			calls.add("exists");
+			return false;
+		});
+
+		assertTrue(storage.releaseOrphan(PHOTO_PATH, cutoff));
+
+		assertEquals(List.of("tx", "lock", "exists"), calls);
+		assertFalse(Files.exists(original));
+		verify(imageVariantService).deleteVariants(NAME);
+	}
+
+	@Test
+	void releaseOrphanKeepsPathReferencedByRowCommittedAfterScan() throws IOException {
+		long cutoff = System.currentTimeMillis() - HOUR;
+		Path original = uploaded(cutoff - HOUR);
+		when(itemImageRepository.existsByPhotoPath(PHOTO_PATH)).thenReturn(true);
+
+		assertFalse(storage.releaseOrphan(PHOTO_PATH, cutoff));
+
+		assertTrue(Files.exists(original));
+		verify(imageVariantService, never()).deleteVariants(anyString());
+	}
+
+	@Test
+	void releaseOrphanKeepsFileRewrittenAfterCutoff() throws IOException {
+		long cutoff = System.currentTimeMillis() - HOUR;
+		Path original = uploaded(System.currentTimeMillis()); // 스캔 이후 같은 내용이 다시 올라옴
+
+		assertFalse(storage.releaseOrphan(PHOTO_PATH, cutoff));
+
+		assertTrue(Files.exists(original));
+		verify(imageVariantService, never()).deleteVariants(anyString());
+	}
+
+	@Test
+	void releaseOrphanKeepsFileWhoseVariantWasJustWritten() throws IOException {
+		long cutoff = System.currentTimeMillis() - HOUR;
+		Path original = uploaded(cutoff - HOUR);
+		Path thumbnail = Files.writeString(dir.resolve("thumb_" + NAME), "x");
+		when(imageVariantService.variantFiles(NAME)).thenReturn(List.of(thumbnail));
+
+		assertFalse(storage.releaseOrphan(PHOTO_PATH, cutoff));
+
+		assertTrue(Files.exists(original));
+		assertTrue(Files.exists(thumbnail));
+	}
+
+	@Test
+	void releaseIfUnreferencedIgnoresModificationTime() throws IOException {
+		Path original = uploaded(System.currentTimeMillis());
+
+		assertTrue(storage.releaseIfUnreferenced(PHOTO_PATH));
+
+		assertFalse(Files.exists(original));
+		verify(imageVariantService).deleteVariants(NAME);
+	}
+
+	@Test
+	void stageNamesFileByContentHash() throws Exception {
+		ImageStorageService.StagedImage staged = storage.stage(upload("사진".getBytes(), "Photo.JPG"));
+
+		String hash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest("사진".getBytes()));
+		assertEquals("/uploads/" + hash + ".jpg", staged.photoPath());
+		assertTrue(staged.stagedFile().startsWith(dir.resolve("staging")));
+		assertArrayEquals("사진".getBytes(), Files.readAllBytes(staged.stagedFile()));
+		assertEquals("/uploads/" + hash, storage.stage(upload("사진".getBytes(), "photo.ph<p>")).photoPath());
+	}
+
+	@Test
+	void sameContentIsStoredOnce() throws IOException {
+		ImageStorageService.StagedImage first = storage.stage(upload("사진".getBytes(), "a.jpg"));
+		ImageStorageService.StagedImage second = storage.stage(upload("사진".getBytes(), "b.jpg"));
+		assertEquals(first.photoPath(), second.photoPath());
+
+		storage.promote(first);
+		storage.promote(second);
+
+		try (var files = Files.list(dir.resolve("uploads"))) {
+			assertEquals(1, files.count());
+		}
+		assertEquals(1L, storage.getStoredFiles());
+		assertEquals(1L, storage.getDeduplicatedFiles());
+		assertFalse(Files.exists(second.stagedFile()));
+	}
+
+	@Test
+	void promoteTakesPathLockBeforeMovingFile() throws IOException {
+		ImageStorageService.StagedImage staged = storage.stage(upload("사진".getBytes(), "a.jpg"));
+		doAnswer(inv -> {
+			calls.add("lock:" + Files.exists(staged.stagedFile()));
+			return 1;
+		}).when(itemImageRepository).lockPhotoPath(anyLong());
+
+		storage.promote(staged);
+
+		assertEquals(List.of("lock:true"), calls);
+		verify(itemImageRepository).lockPhotoPath(ImageStorageService.lockKey(staged.photoPath()));
+	}
+
+	@Test
+	void lockKeyOfHashedNameIsItsFirst64Bits() {
+		assertEquals(0x0123456789abcdefL, ImageStorageService.lockKey("/uploads/0123456789abcdef" + "0".repeat(48) + ".png"));
+		assertEquals("/uploads/legacy.jpg".hashCode(), ImageStorageService.lockKey("/uploads/legacy.jpg"));
+	}
+
+	@Test
+	void releaseKeepsFileSharedWithAnotherItem() throws IOException {
+		Path original = uploaded(System.currentTimeMillis());
+		when(itemImageRepository.existsByPhotoPath(PHOTO_PATH)).thenReturn(true);
+
+		assertTrue(storage.releaseIfUnreferenced(PHOTO_PATH));
+
+		assertTrue(Files.exists(original));
+		verify(imageVariantService, never()).deleteVariants(anyString());
+	}
+
+	@Test
+	void failedPromoteKeepsStagedFileAndRevertDiscardsItWithoutDatabase() throws IOException {
+		ImageStorageService.StagedImage staged = storage.stage(upload("사진".getBytes(), "a.jpg"));
+		Files.writeString(dir.resolve("uploads"), "x"); // 업로드 폴더 자리에 파일 → 이동 실패
+
+		assertThrows(RuntimeException.class, () -> storage.promote(staged));
+		assertTrue(Files.exists(staged.stagedFile()));
+
+		storage.revert(staged);
+
+		assertFalse(Files.exists(staged.stagedFile()));
+		verify(itemImageRepository, never()).existsByPhotoPath(anyString());
+		verify(transactionTemplate, never()).execute(any());
+	}
+
+	@Test
+	void revertAfterPromoteDeletesFileNoRowReferences() throws IOException {
+		ImageStorageService.StagedImage staged = storage.stage(upload("사진".getBytes(), "a.jpg"));
+		storage.promote(staged);
+		String filename = staged.photoPath().substring("/uploads/".length());
+		assertTrue(Files.exists(dir.resolve("uploads").resolve(filename)));
+
+		storage.revert(staged); // 롤백으로 행이 없음
+
+		assertFalse(Files.exists(dir.resolve("uploads").resolve(filename)));
+		verify(imageVariantService).deleteVariants(filename);
+	}
+
+	private static MultipartFile upload(byte[] content, String originalFilename) throws IOException {
+		MultipartFile file = mock(MultipartFile.class);
+		when(file.getInputStream()).thenReturn(new ByteArrayInputStream(content));
+		when(file.getOriginalFilename()).thenReturn(originalFilename);
+		return file;
+	}
+
+	private Path uploaded(long modifiedAt) throws IOException {
+		Files.createDirectories(dir.resolve("uploads"));
+		Path file = Files.writeString(dir.resolve("uploads").resolve(NAME), "x");
+		Files.setLastModifiedTime(file, FileTime.fromMillis(modifiedAt));
+		return file;
+	}
+}
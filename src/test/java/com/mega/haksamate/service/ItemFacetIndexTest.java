@@ -0,0 +1,95 @@
+package com.mega.haksamate.service;
+
+import com.mega.haksamate.dto.ItemSnapshotDTO;
+import com.mega.haksamate.entity.Item;
+import com.mega.haksamate.event.ItemChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemFacetIndexTest {
+
+	private static final String[] CATEGORIES = {"전자기기", "도서", "의류"};
+
+	private final ItemFacetIndex index = new ItemFacetIndex(null);
+	private final Map<Long, ItemSnapshotDTO> items = new LinkedHashMap<>();
+
+	@Test
+	void facetCountsIgnoreTheirOwnFilter() {
+		add(1, "전자기기", Item.Status.판매중, 1000, 10);
+		add(2, "전자기기", Item.Status.예약중, 2000, 20);
+		add(3, "도서", Item.Status.판매중, 3000, 30);
+
+		ItemFacetIndex.Result result = index.browse(query("전자기기", Item.Status.판매중, null, null, ItemFacetIndex.Sort.NEWEST, 0, 10));
+
+		assertEquals(List.of(1L), result.itemIds());
+		assertEquals(1, result.totalCount());
+		assertEquals(Map.of("전자기기", 1, "도서", 1), result.categoryCounts());
+		assertEquals(1, result.statusCounts().get("판매중"));
+		assertEquals(1, result.statusCounts().get("예약중"));
+	}
+
+	@Test
+	void pagesMatchFullSortForEveryOrder() {
+		Random random = new Random(42);
+		for (long id = 1; id <= 300; id++) {
+			add(id, CATEGORIES[random.nextInt(CATEGORIES.length)], Item.Status.values()[random.nextInt(3)],
+					random.nextInt(20) * 500, random.nextInt(50));
+		}
+
+		for (ItemFacetIndex.Sort sort : ItemFacetIndex.Sort.values()) {
+			for (int[] page : new int[][]{{0, 20}, {40, 20}, {290, 20}, {0, 0}, {500, 10}}) {
+				ItemFacetIndex.Result result = index.browse(query(null, Item.Status.판매중, 1000, 8000, sort, page[0], page[1]));
+				List<Long> expected = expected(Item.Status.판매중, 1000, 8000, sort);
+				assertEquals(expected.size(), result.totalCount());
+				List<Long> expectedPage = expected.subList(Math.min(page[0], expected.size()),
+						Math.min(page[0] + page[1], expected.size()));
+				assertEquals(expectedPage, result.itemIds(), sort + " " + Arrays.toString(page));
+			}
+		}
+	}
+
+	@Test
+	void followsStatusChangesAndDeletes() {
+		add(1, "도서", Item.Status.판매중, 1000, 10);
+		add(2, "도서", Item.Status.판매중, 1000, 20);
+
+		index.onItemChanged(ItemChangedEvent.statusChanged(1L, Item.Status.거래완료));
+		index.onItemChanged(ItemChangedEvent.deleted(2L));
+
+		ItemFacetIndex.Result result = index.browse(query(null, null, null, null, null, 0, 10));
+		assertEquals(List.of(1L), result.itemIds());
+		assertEquals(1, result.statusCounts().get("거래완료"));
+		assertEquals(0, result.statusCounts().get("판매중"));
+		assertEquals("도서", index.categoryOf(1L));
+		assertNull(index.categoryOf(2L));
+	}
+
+	private void add(long id, String category, Item.Status status, int price, long regdate) {
+		ItemSnapshotDTO snapshot = new ItemSnapshotDTO(id, "게시글 " + id, null, category, status, price, regdate, null, null);
+		items.put(id, snapshot);
+		index.onItemChanged(ItemChangedEvent.created(snapshot));
+	}
+
+	private List<Long> expected(Item.Status status, int minPrice, int maxPrice, ItemFacetIndex.Sort sort) {
+		Comparator<ItemSnapshotDTO> newest = Comparator.comparing(ItemSnapshotDTO::getRegdate).reversed()
+				.thenComparing(Comparator.comparing(ItemSnapshotDTO::getItemid).reversed());
+		Comparator<ItemSnapshotDTO> order = switch (sort) {
+			case NEWEST -> newest;
+			case PRICE_ASC -> Comparator.comparingInt(ItemSnapshotDTO::getPrice).thenComparing(newest);
+			case PRICE_DESC -> Comparator.comparingInt(ItemSnapshotDTO::getPrice).reversed().thenComparing(newest);
+		};
+		return items.values().stream()
+				.filter(item -> item.getStatus() == status && item.getPrice() >= minPrice && item.getPrice() <= maxPrice)
+				.sorted(order)
+				.map(ItemSnapshotDTO::getItemid)
+				.toList();
+	}
+
+	private static ItemFacetIndex.Query query(String category, Item.Status status, Integer minPrice, Integer maxPrice,
+											  ItemFacetIndex.Sort sort, int offset, int limit) {
+		return new ItemFacetIndex.Query(category, status, minPrice, maxPrice, sort, offset, limit);
+	}
+}
@@ -0,0 +1,102 @@
+package com.mega.haksamate.service;
+
+import com.mega.haksamate.dto.ItemLikeCountDTO;
+import com.mega.haksamate.event.ItemLikeChangedEvent;
+import com.mega.haksamate.repository.ItemLikeRepository;
+import com.mega.haksamate.repository.ItemRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ItemLikeCounterTest {
+
+	private static final UUID USER = UUID.randomUUID();
+
+	private final ItemLikeRepository itemLikeRepository = mock(ItemLikeRepository.class);
+	private final ItemLikeCounter counter = new ItemLikeCounter(itemLikeRepository, mock(ItemRepository.class),
+			mock(TransactionTemplate.class));
+
+	@Test
+	void likeAndUnlikeChangeCountImmediately() {
+		dbCounts(3L);
+		counter.seed();
+
+		counter.onLikeChanged(ItemLikeChangedEvent.liked(1L, USER));
+		assertEquals(4L, counter.count(1L));
+		assertEquals(1, counter.stats().get("dirtyItems"));
+
+		counter.onLikeChanged(ItemLikeChangedEvent.unliked(1L, USER));
+		assertEquals(3L, counter.count(1L));
+	}
+
+	@Test
+	void seedDoesNotDoubleCountLikesAppliedBeforeReady() {
+		counter.onLikeChanged(ItemLikeChangedEvent.liked(1L, USER)); // 초기화 전에 커밋된 좋아요
+		dbCounts(1L);
+		counter.seed();
+
+		assertEquals(1L, counter.count(1L));
+	}
+
+	@Test
+	void reconcileCorrectsDriftWithoutConcurrentChanges() {
+		dbCounts(3L);
+		counter.seed();
+
+		dbCounts(5L);
+		counter.reconcile();
+
+		assertEquals(5L, counter.count(1L));
+		assertEquals(1L, counter.stats().get("corrections"));
+	}
+
+	@Test
+	void reconcileSkipsItemLikedWhileCounting() {
+		dbCounts(3L);
+		counter.seed();
+
+		// 집계 쿼리가 도는 사이에 좋아요가 커밋되어 반영됨 (집계 결과에는 없음)
+		when(itemLikeRepository.countGroupByItem()).thenAnswer(invocation -> {
+			counter.onLikeChanged(ItemLikeChangedEvent.liked(1L, USER));
+			return List.of(new ItemLikeCountDTO(1L, 3L));
+		});
+		counter.reconcile();
+
+		assertEquals(4L, counter.count(1L));
+		assertEquals(0L, counter.stats().get("corrections"));
+	}
+
+	@Test
+	void reconcileSkipsItemCommittedButNotYetApplied() {
+		dbCounts(3L);
+		counter.seed();
+
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			counter.beforeLikeCommit(ItemLikeChangedEvent.liked(1L, USER));
+			dbCounts(4L); // 커밋은 됐지만 커밋 이후 리스너는 아직
+			counter.reconcile();
+			assertEquals(3L, counter.count(1L));
+
+			counter.onLikeChanged(ItemLikeChangedEvent.liked(1L, USER));
+			TransactionSynchronizationManager.getSynchronizations()
+					.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+
+		assertEquals(4L, counter.count(1L));
+		assertEquals(0, counter.stats().get("inFlightItems"));
+	}
+
+	private void dbCounts(long itemOneCount) {
+		when(itemLikeRepository.countGroupByItem()).thenReturn(List.of(new ItemLikeCountDTO(1L, itemOneCount)));
+	}
+}
@@ -0,0 +1,79 @@
+package com.mega.haksamate.service;
+
+import com.mega.haksamate.dto.ItemSnapshotDTO;
+import com.mega.haksamate.dto.ItemSuggestionDTO;
+import com.mega.haksamate.entity.Item;
+import com.mega.haksamate.event.ItemChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemPrefixIndexTest {
+
+	private final ItemPrefixIndex index = new ItemPrefixIndex(null);
+
+	@Test
+	void titleStartMatchesComeBeforeNewerWordMatches() {
+		add(1, "노트북 팝니다", 10);
+		add(2, "삼성 노트북", 30);
+		add(3, "노트 필기", 20);
+
+		assertEquals(List.of(3L, 1L, 2L), ids(index.suggest("노트", 10)));
+		assertEquals(List.of(3L), ids(index.suggest("노트", 1)));
+	}
+
+	@Test
+	void chosungAndMixedQueriesAreVerifiedAgainstTitle() {
+		add(1, "삼성 노트북", 10);
+		add(2, "나트륨 측정기", 20);
+
+		assertEquals(List.of(2L, 1L), ids(index.suggest("ㄴㅌ", 10)));
+		assertEquals(List.of(1L), ids(index.suggest("노ㅌ", 10)));
+		assertEquals(List.of(1L), ids(index.suggest("삼성노", 10)));
+	}
+
+	@Test
+	void queryLongerThanKeyIsComparedInFull() {
+		String head = "가".repeat(30);
+		add(1, head + "나", 10);
+		add(2, head + "다", 20);
+
+		assertEquals(List.of(1L), ids(index.suggest(head + "나", 10)));
+	}
+
+	@Test
+	void titleStartMatchIsFoundEvenWhenWordMatchesExceedScanLimit() {
+		add(1, "의자 팝니다", 1);
+		for (long id = 2; id <= 1000; id++) {
+			add(id, "사무용 의자" + id, id);
+		}
+
+		assertEquals(List.of(1L), ids(index.suggest("의자", 1)));
+		assertEquals(10, index.suggest("의자", 10).size());
+	}
+
+	@Test
+	void updatedAndDeletedItemsLeaveIndex() {
+		add(1, "노트북", 10);
+		index.onItemChanged(ItemChangedEvent.updated(snapshot(1, "태블릿", 10)));
+		add(2, "노트", 20);
+		index.onItemChanged(ItemChangedEvent.deleted(2L));
+
+		assertTrue(index.suggest("노트", 10).isEmpty());
+		assertEquals(List.of(1L), ids(index.suggest("ㅌㅂ", 10)));
+	}
+
+	private void add(long id, String title, long regdate) {
+		index.onItemChanged(ItemChangedEvent.created(snapshot(id, title, regdate)));
+	}
+
+	private static ItemSnapshotDTO snapshot(long id, String title, long regdate) {
+		return new ItemSnapshotDTO(id, title, null, "기타", Item.Status.판매중, 0, regdate, null, null);
+	}
+
+	private static List<Long> ids(List<ItemSuggestionDTO> suggestions) {
+		return suggestions.stream().map(ItemSuggestionDTO::getItemId).toList();
+	}
+}
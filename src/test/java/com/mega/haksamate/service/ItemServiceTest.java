@@ -0,0 +1,232 @@
+package com.mega.haksamate.service;
+
+import com.mega.haksamate.dto.ItemRegisterRequestDTO;
+import com.mega.haksamate.entity.Item;
+import com.mega.haksamate.entity.Profile;
+import com.mega.haksamate.event.ItemChangedEvent;
+import com.mega.haksamate.exception.ItemStatusConflictException;
+import com.mega.haksamate.repository.*;
+import com.mega.haksamate.service.ImageStorageService.StagedImage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ItemServiceTest {
+
+	private static final UUID SELLER = UUID.randomUUID();
+
+	private final ItemRepository itemRepository = mock(ItemRepository.class);
+	private final ProfileRepository profileRepository = mock(ProfileRepository.class);
+	private final ImageStorageService imageStorageService = mock(ImageStorageService.class);
+	private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+	private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+	private final ItemService itemService = new ItemService(itemRepository, mock(ItemImageRepository.class), profileRepository,
+			mock(ItemTransactionRepository.class), mock(ItemLikeRepository.class), mock(ReviewRepository.class),
+			mock(ReportRepository.class), mock(ImageDeletionTaskRepository.class), mock(ItemSearchIndex.class),
+			mock(ItemPrefixIndex.class), mock(ItemDetailCache.class), mock(ItemFacetIndex.class), imageStorageService,
+			mock(ImageGarbageCollector.class), mock(ChatRoomRepository.class), eventPublisher, transactionTemplate);
+
+	private final List<String> calls = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		when(transactionTemplate.execute(any())).thenAnswer(inv -> {
+			calls.add("tx");
+			return inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null);
+		});
+		doAnswer(inv -> {
+			calls.add("tx");
+			inv.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+			return null;
+		}).when(transactionTemplate).executeWithoutResult(any());
+		when(profileRepository.findById(SELLER)).thenReturn(Optional.of(Profile.builder().id(SELLER).build()));
+		when(itemRepository.save(any())).thenAnswer(inv -> {
+			Item item = inv.getArgument(0);
+			item.setItemid(1L);
+			return item;
+		});
+		doAnswer(inv -> calls.add("promote")).when(imageStorageService).promote(any());
+	}
+
+	@Test
+	void uploadsAreStagedBeforeTransactionAndPromotedInsideIt() {
+		MultipartFile upload = mock(MultipartFile.class);
+		StagedImage staged = staged("a");
+		when(imageStorageService.stage(upload)).thenAnswer(inv -> {
+			calls.add("stage");
+			return staged;
+		});
+
+		assertEquals(1L, itemService.saveItemWithImages(request(), List.of(upload)));
+
+		assertEquals(List.of("stage", "tx", "promote"), calls);
+		verify(imageStorageService, never()).revert(any());
+	}
+
+	@Test
+	void failedPromoteRevertsEveryStagedImage() {
+		MultipartFile first = mock(MultipartFile.class);
+		MultipartFile second = mock(MultipartFile.class);
+		StagedImage a = staged("a");
+		StagedImage b = staged("b");
+		when(imageStorageService.stage(first)).thenReturn(a);
+		when(imageStorageService.stage(second)).thenReturn(b);
+		doThrow(new RuntimeException("이미지 저장 실패")).when(imageStorageService).promote(b);
+
+		assertThrows(RuntimeException.class, () -> itemService.saveItemWithImages(request(), List.of(first, second)));
+
+		verify(imageStorageService).revert(a);
+		verify(imageStorageService).revert(b);
+	}
+
+	@Test
+	void failedInsertRevertsWithoutPromoting() {
+		MultipartFile upload = mock(MultipartFile.class);
+		StagedImage staged = staged("a");
+		when(imageStorageService.stage(upload)).thenReturn(staged);
+		when(profileRepository.findById(SELLER)).thenReturn(Optional.empty());
+
+		assertThrows(RuntimeException.class, () -> itemService.saveItemWithImages(request(), List.of(upload)));
+
+		verify(imageStorageService, never()).promote(any());
+		verify(imageStorageService).revert(staged);
+	}
+
+	@Test
+	void stagingFailureDiscardsEarlierUploadsWithoutOpeningTransaction() {
+		MultipartFile first = mock(MultipartFile.class);
+		MultipartFile second = mock(MultipartFile.class);
+		StagedImage a = staged("a");
+		when(imageStorageService.stage(first)).thenReturn(a);
+		when(imageStorageService.stage(second)).thenThrow(new RuntimeException("이미지 저장 실패"));
+
+		assertThrows(RuntimeException.class, () -> itemService.saveItemWithImages(request(), List.of(first, second)));
+
+		verify(imageStorageService).discard(a);
+		verifyNoInteractions(transactionTemplate);
+	}
+
+	@Test
+	void failedUpdateRevertsStagedImages() {
+		MultipartFile upload = mock(MultipartFile.class);
+		StagedImage staged = staged("a");
+		when(imageStorageService.stage(upload)).thenReturn(staged);
+		when(itemRepository.findById(1L)).thenReturn(Optional.empty());
+
+		assertThrows(RuntimeException.class, () -> itemService.updateItem(1L, request(), List.of(upload)));
+
+		verify(imageStorageService, never()).promote(any());
+		verify(imageStorageService).revert(staged);
+	}
+
+	@Test
+	void statusChangeIsOneConditionalUpdate() {
+		when(itemRepository.transitionStatus(eq(1L), eq(Item.Status.예약중), eq(List.of(Item.Status.판매중)), any())).thenReturn(1);
+
+		itemService.updateItemStatus(1L, "예약중");
+
+		verify(itemRepository, never()).findStatusById(any());
+		verify(eventPublisher).publishEvent(ItemChangedEvent.statusChanged(1L, Item.Status.예약중));
+	}
+
+	@Test
+	void completingStampsCompletedDate() {
+		when(itemRepository.transitionStatus(eq(1L), eq(Item.Status.거래완료), any(), any())).thenReturn(1);
+
+		itemService.updateItemStatus(1L, "거래완료");
+
+		verify(itemRepository).transitionStatus(eq(1L), eq(Item.Status.거래완료),
+				eq(List.of(Item.Status.판매중, Item.Status.예약중)), argThat(date -> date != null));
+	}
+
+	@Test
+	void transitionFromFinalStateIsConflict() {
+		when(itemRepository.findStatusById(1L)).thenReturn(Optional.of(Item.Status.거래완료));
+
+		ItemStatusConflictException e = assertThrows(ItemStatusConflictException.class,
+				() -> itemService.updateItemStatus(1L, "판매중"));
+
+		assertEquals(Item.Status.거래완료, e.getCurrentStatus());
+		verify(eventPublisher, never()).publishEvent(any(Object.class));
+	}
+
+	@Test
+	void sameStatusIsNoOp() {
+		when(itemRepository.findStatusById(1L)).thenReturn(Optional.of(Item.Status.예약중));
+
+		itemService.updateItemStatus(1L, "예약중");
+
+		verify(eventPublisher, never()).publishEvent(any(Object.class));
+	}
+
+	@Test
+	void completingTwiceIsConflict() {
+		when(itemRepository.findStatusById(1L)).thenReturn(Optional.of(Item.Status.거래완료));
+
+		assertThrows(ItemStatusConflictException.class, () -> itemService.updateItemStatus(1L, "거래완료"));
+	}
+
+	@Test
+	void unknownStatusOrItemIsRejected() {
+		assertThrows(IllegalArgumentException.class, () -> itemService.updateItemStatus(1L, "없는상태"));
+		assertThrows(IllegalArgumentException.class, () -> itemService.updateItemStatus(1L, null));
+		verifyNoInteractions(itemRepository);
+
+		when(itemRepository.findStatusById(2L)).thenReturn(Optional.empty());
+		assertThrows(NoSuchElementException.class, () -> itemService.updateItemStatus(2L, "예약중"));
+	}
+
+	@Test
+	void putWithNewStatusGoesThroughTransitionRules() {
+		when(itemRepository.findStatusById(1L)).thenReturn(Optional.of(Item.Status.거래완료));
+		ItemRegisterRequestDTO request = request();
+		request.setStatus("판매중");
+
+		assertThrows(ItemStatusConflictException.class, () -> itemService.updateItem(1L, request, null));
+
+		verify(itemRepository).transitionStatus(eq(1L), eq(Item.Status.판매중), eq(List.of(Item.Status.예약중)), any());
+		verify(itemRepository, never()).findById(any());
+	}
+
+	@Test
+	void putWithUnchangedStatusSkipsTransition() {
+		when(itemRepository.findStatusById(1L)).thenReturn(Optional.of(Item.Status.예약중));
+		when(itemRepository.findById(1L)).thenReturn(Optional.of(Item.builder().status(Item.Status.예약중).build()));
+		ItemRegisterRequestDTO request = request();
+		request.setStatus("예약중");
+
+		itemService.updateItem(1L, request, null);
+
+		verify(itemRepository, never()).transitionStatus(any(), any(), any(), any());
+		verify(eventPublisher).publishEvent(any(ItemChangedEvent.class));
+	}
+
+	private static ItemRegisterRequestDTO request() {
+		ItemRegisterRequestDTO request = new ItemRegisterRequestDTO();
+		request.setTitle("노트북");
+		request.setPrice(10000);
+		request.setCategory("전자기기");
+		request.setSellerId(SELLER);
+		return request;
+	}
+
+	private static StagedImage staged(String name) {
+		return new StagedImage(Path.of(name + ".tmp"), "/uploads/" + name + ".jpg");
+	}
+}
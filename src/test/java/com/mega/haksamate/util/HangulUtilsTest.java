@@ -0,0 +1,43 @@
+package com.mega.haksamate.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.text.Normalizer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HangulUtilsTest {
+
+	@Test
+	void normalizeComposesDecomposedHangulAndLowercases() {
+		String decomposed = Normalizer.normalize("노트북", Normalizer.Form.NFD);
+		assertNotEquals("노트북", decomposed);
+		assertEquals("노트북", HangulUtils.normalize(decomposed));
+		assertEquals("맥북 pro", HangulUtils.normalize("맥북 PRO"));
+		assertEquals("", HangulUtils.normalize(null));
+	}
+
+	@Test
+	void toChosungKeepsNonSyllables() {
+		assertEquals("ㄴㅌㅂ", HangulUtils.toChosung("노트북"));
+		assertEquals("ㅁㅂ m1", HangulUtils.toChosung("맥북 m1"));
+		assertEquals("ㄲㅃ", HangulUtils.toChosung("꿀빵"));
+	}
+
+	@Test
+	void containsChosungOnlyForCompatibilityJamo() {
+		assertTrue(HangulUtils.containsChosung("노ㅌㅂ"));
+		assertFalse(HangulUtils.containsChosung("노트북"));
+		assertFalse(HangulUtils.containsChosung("abc"));
+	}
+
+	@Test
+	void startsWithMixedMatchesSyllablesAndChosung() {
+		assertTrue(HangulUtils.startsWithMixed("노트북 팝니다", 0, "노ㅌㅂ"));
+		assertTrue(HangulUtils.startsWithMixed("노트북 팝니다", 0, "ㄴㅌㅂ"));
+		assertTrue(HangulUtils.startsWithMixed("중고 노트북", 3, "노트"));
+		assertFalse(HangulUtils.startsWithMixed("노트북", 0, "ㄴㅌㄱ"));
+		assertFalse(HangulUtils.startsWithMixed("노트북", 0, "노트북 팝니다"));
+		assertFalse(HangulUtils.startsWithMixed("노트북", 2, "북ㅍ"));
+	}
+}
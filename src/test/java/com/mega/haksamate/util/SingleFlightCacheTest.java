@@ -0,0 +1,115 @@
+package com.mega.haksamate.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightCacheTest {
+
+	@Test
+	void cachesLoadedValue() {
+		SingleFlightCache<String, String> cache = new SingleFlightCache<>(10, 60_000);
+		AtomicInteger loads = new AtomicInteger();
+
+		assertEquals("A", cache.get("a", key -> { loads.incrementAndGet(); return "A"; }));
+		assertEquals("A", cache.get("a", key -> { loads.incrementAndGet(); return "B"; }));
+		assertEquals(1, loads.get());
+		assertEquals(1L, cache.stats().get("hits"));
+	}
+
+	@Test
+	void evictsLeastRecentlyUsedAndExpiresAfterTtl() throws InterruptedException {
+		SingleFlightCache<String, String> lru = new SingleFlightCache<>(2, 60_000);
+		lru.get("a", key -> "A");
+		lru.get("b", key -> "B");
+		lru.get("a", key -> "A");
+		lru.get("c", key -> "C"); // b 가 가장 오래 안 쓰임
+		assertEquals(2, lru.size());
+		assertEquals("B2", lru.get("b", key -> "B2"));
+
+		SingleFlightCache<String, String> ttl = new SingleFlightCache<>(10, 1);
+		ttl.get("a", key -> "A");
+		Thread.sleep(5);
+		assertEquals("A2", ttl.get("a", key -> "A2"));
+	}
+
+	@Test
+	void failedLoadIsNotCached() {
+		SingleFlightCache<String, String> cache = new SingleFlightCache<>(10, 60_000);
+		assertThrows(IllegalStateException.class, () -> cache.get("a", key -> { throw new IllegalStateException("실패"); }));
+		assertEquals("A", cache.get("a", key -> "A"));
+	}
+
+	@Test
+	void concurrentMissesShareOneLoad() throws Exception {
+		SingleFlightCache<String, String> cache = new SingleFlightCache<>(10, 60_000);
+		AtomicInteger loads = new AtomicInteger();
+		CountDownLatch loading = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<String> first = executor.submit(() -> cache.get("a", key -> {
+				loads.incrementAndGet();
+				loading.countDown();
+				await(release);
+				return "A";
+			}));
+			assertTrue(loading.await(5, TimeUnit.SECONDS));
+			Future<String> second = executor.submit(() -> cache.get("a", key -> {
+				loads.incrementAndGet();
+				return "B";
+			}));
+			waitUntil(() -> (long) cache.stats().get("coalescedLoads") == 1L);
+			release.countDown();
+
+			assertEquals("A", first.get(5, TimeUnit.SECONDS));
+			assertEquals("A", second.get(5, TimeUnit.SECONDS));
+			assertEquals(1, loads.get());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void invalidateDuringLoadDiscardsStaleValue() throws Exception {
+		SingleFlightCache<String, String> cache = new SingleFlightCache<>(10, 60_000);
+		CountDownLatch loading = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Future<String> stale = executor.submit(() -> cache.get("a", key -> {
+				loading.countDown();
+				await(release);
+				return "old";
+			}));
+			assertTrue(loading.await(5, TimeUnit.SECONDS));
+			cache.invalidate("a");
+			release.countDown();
+
+			assertEquals("old", stale.get(5, TimeUnit.SECONDS)); // 요청한 쪽에는 그대로 반환
+			assertEquals(0, cache.size());
+			assertEquals("new", cache.get("a", key -> "new"));
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static void waitUntil(java.util.function.BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (!condition.getAsBoolean()) {
+			if (System.nanoTime() > deadline) fail("조건을 기다리다 시간 초과");
+			Thread.sleep(1);
+		}
+	}
+}